@@ -0,0 +1,70 @@
+package com.projeto2.backend;
+
+import com.projeto2.backend.controllers.CalculadoraController;
+import com.projeto2.middleware.MiddlewareFramework;
+import com.projeto2.middleware.cluster.ClusterConfig;
+import com.projeto2.middleware.cluster.ClusterTransport;
+import com.projeto2.middleware.cluster.ConsistentHashBalancer;
+import com.projeto2.middleware.cluster.LeastOutstandingBalancer;
+import com.projeto2.middleware.cluster.LoadBalancer;
+import com.projeto2.middleware.logging.Logger;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ponto de entrada para o modo cluster local: um dispatcher na porta 8080 balanceando
+ * entre workers TCP nas portas seguintes.
+ *
+ * Uso:
+ *   ClusterMain                              -> dispatcher + 3 workers (8081-8083) na mesma JVM, para testes.
+ *   ClusterMain worker 8081                  -> apenas um worker, em um processo próprio.
+ *   ClusterMain dispatcher 8081 8082 [hash]  -> apenas o dispatcher, para workers já iniciados.
+ */
+public class ClusterMain {
+    private static final Logger LOG = Logger.getLogger(ClusterMain.class);
+
+    public static void main(String[] args) {
+        LOG.info("Iniciando a aplicacao backend em modo cluster...");
+        try {
+            if (args.length >= 2 && "worker".equals(args[0])) {
+                startWorker(Integer.parseInt(args[1]));
+            } else if (args.length >= 2 && "dispatcher".equals(args[0])) {
+                List<Integer> ports = new ArrayList<>();
+                boolean hash = false;
+                for (int i = 1; i < args.length; i++) {
+                    if ("hash".equals(args[i])) {
+                        hash = true;
+                    } else {
+                        ports.add(Integer.parseInt(args[i]));
+                    }
+                }
+                startDispatcher(8080, ports, hash);
+            } else {
+                List<Integer> ports = List.of(8081, 8082, 8083);
+                for (int port : ports) {
+                    startWorker(port);
+                }
+                startDispatcher(8080, ports, false);
+            }
+        } catch (Exception e) {
+            LOG.error("Falha ao iniciar a aplicacao", e);
+        }
+    }
+
+    private static void startWorker(int port) throws Exception {
+        MiddlewareFramework worker = new MiddlewareFramework();
+        worker.addController(CalculadoraController.class);
+        worker.start(port, "tcp");
+    }
+
+    private static void startDispatcher(int port, List<Integer> workerPorts, boolean hash) throws Exception {
+        List<URI> workers = new ArrayList<>();
+        for (int workerPort : workerPorts) {
+            workers.add(URI.create("http://localhost:" + workerPort));
+        }
+        LoadBalancer balancer = hash ? new ConsistentHashBalancer() : new LeastOutstandingBalancer();
+        new MiddlewareFramework().start(new ClusterTransport(port, workers, balancer, ClusterConfig.DEFAULT));
+    }
+}
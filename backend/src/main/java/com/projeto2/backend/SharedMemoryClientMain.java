@@ -0,0 +1,31 @@
+package com.projeto2.backend;
+
+import com.projeto2.middleware.logging.Logger;
+import com.projeto2.middleware.model.MiddlewareResponse;
+import com.projeto2.middleware.remoting.SharedMemoryClient;
+import com.projeto2.middleware.remoting.SharedMemoryTransport;
+
+/**
+ * Cliente de exemplo para o SharedMemoryMain: envia chamadas a /soma pela memória compartilhada
+ * e mede a latência média por chamada.
+ */
+public class SharedMemoryClientMain {
+    private static final Logger LOG = Logger.getLogger(SharedMemoryClientMain.class);
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        try (SharedMemoryClient client = new SharedMemoryClient(SharedMemoryTransport.defaultDirectory(8080))) {
+            MiddlewareResponse response = client.send("GET /soma?a=5&b=10");
+            LOG.info("Resposta: {} {}", response.statusCode(), response.body());
+
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                client.send("GET /soma?a=" + i + "&b=1");
+            }
+            long elapsed = System.nanoTime() - start;
+            LOG.info("{} chamadas, latencia media de {} us", calls, elapsed / calls / 1000.0);
+        } catch (Exception e) {
+            LOG.error("Falha no cliente de memoria compartilhada", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.projeto2.backend;
+
+import com.projeto2.backend.controllers.CalculadoraController;
+import com.projeto2.middleware.MiddlewareFramework;
+import com.projeto2.middleware.logging.Logger;
+
+/**
+ * Ponto de entrada para iniciar a aplicação usando o transporte de memória compartilhada,
+ * para clientes no mesmo host (ver SharedMemoryClientMain).
+ */
+public class SharedMemoryMain {
+    private static final Logger LOG = Logger.getLogger(SharedMemoryMain.class);
+
+    public static void main(String[] args) {
+        LOG.info("Iniciando a aplicacao backend sobre memoria compartilhada...");
+        MiddlewareFramework framework = new MiddlewareFramework();
+        try {
+            framework.addController(CalculadoraController.class);
+            framework.start(8080, "shm"); // Inicia com o protocolo de memória compartilhada.
+        } catch (Exception e) {
+            LOG.error("Falha ao iniciar a aplicacao", e);
+        }
+    }
+}
@@ -2,19 +2,23 @@ package com.projeto2.backend;
 
 import com.projeto2.backend.controllers.CalculadoraController;
 import com.projeto2.middleware.MiddlewareFramework;
+import com.projeto2.middleware.logging.Logger;
 
 /**
  * Ponto de entrada para iniciar a aplicação usando o transporte TCP.
  */
 public class TCPMain {
+    private static final Logger LOG = Logger.getLogger(TCPMain.class);
+
     public static void main(String[] args) {
-        System.out.println("Iniciando a aplicacao backend sobre TCP...");
+        LOG.info("Iniciando a aplicacao backend sobre TCP...");
         MiddlewareFramework framework = new MiddlewareFramework();
         try {
             framework.addController(CalculadoraController.class);
+            framework.enableTracing(100, 256); // Amostra 1% das requisições em /_middleware/traces.
             framework.start(8080, "tcp"); // Inicia com o protocolo TCP.
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.error("Falha ao iniciar a aplicacao", e);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.projeto2.backend;
+
+import com.projeto2.backend.controllers.CalculadoraController;
+import com.projeto2.middleware.MiddlewareFramework;
+import com.projeto2.middleware.logging.Logger;
+import com.projeto2.middleware.remoting.SocketChannelClient;
+import com.projeto2.middleware.remoting.SocketChannelTransport;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+
+/**
+ * Compara o mesmo protocolo do SocketChannelTransport sobre socket Unix e sobre TCP em loopback.
+ * Mede latência média por chamada (uma conexão persistente, uma chamada por vez) e
+ * tempo de CPU do processo por chamada (cliente + servidor, já que ambos rodam nesta JVM).
+ *
+ * Uso: UnixSocketBenchmark [chamadas]
+ */
+public class UnixSocketBenchmark {
+    private static final Logger LOG = Logger.getLogger(UnixSocketBenchmark.class);
+    private static final String REQUEST = "POST /echo?mensagem=benchmark";
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        try {
+            SocketAddress unix = UnixDomainSocketAddress.of(SocketChannelTransport.defaultUnixPath(9090));
+            SocketAddress tcp = new InetSocketAddress(InetAddress.getLoopbackAddress(), 9090);
+
+            MiddlewareFramework framework = new MiddlewareFramework();
+            framework.addController(CalculadoraController.class);
+            framework.start(new SocketChannelTransport(unix));
+            framework.start(new SocketChannelTransport(tcp));
+
+            // Aquecimento do JIT nos dois caminhos antes das medições.
+            run(unix, calls / 10);
+            run(tcp, calls / 10);
+
+            report("unix", unix, calls);
+            report("tcp (loopback)", tcp, calls);
+        } catch (Exception e) {
+            LOG.error("Falha no benchmark", e);
+        }
+        System.exit(0);
+    }
+
+    private static void report(String name, SocketAddress address, int calls) throws Exception {
+        long cpuBefore = processCpuNanos();
+        long elapsed = run(address, calls);
+        long cpu = processCpuNanos() - cpuBefore;
+        LOG.info("{}: latencia media {} us, CPU {} us por chamada",
+                name, String.format("%.2f", elapsed / 1000.0 / calls), String.format("%.2f", cpu / 1000.0 / calls));
+    }
+
+    private static long run(SocketAddress address, int calls) throws Exception {
+        try (SocketChannelClient client = new SocketChannelClient(address)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                client.send(REQUEST);
+            }
+            return System.nanoTime() - start;
+        }
+    }
+
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return 0;
+    }
+}
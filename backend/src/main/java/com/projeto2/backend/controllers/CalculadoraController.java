@@ -1,12 +1,19 @@
 package com.projeto2.backend.controllers;
 
+import com.projeto2.middleware.annotations.Body;
 import com.projeto2.middleware.annotations.Controller;
 import com.projeto2.middleware.annotations.Param;
 import com.projeto2.middleware.annotations.RequestMapping;
+import com.projeto2.middleware.annotations.SingleFlight;
 import com.projeto2.middleware.enums.HttpMethod;
 import com.projeto2.backend.interceptors.LogInterceptor;
 import com.projeto2.middleware.annotations.InterceptAfter;
 import com.projeto2.middleware.annotations.InterceptBefore;
+import com.projeto2.middleware.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Classe que representa nossa "aplicação".
@@ -14,17 +21,19 @@ import com.projeto2.middleware.annotations.InterceptBefore;
  */
 @Controller // 1. Marca a classe como um Controller.
 public class CalculadoraController {
+    private static final Logger LOG = Logger.getLogger(CalculadoraController.class);
 
     /**
      * Este método será exposto na rota GET /soma.
      * A plataforma de middleware deverá ser capaz de extrair os parâmetros 'a' e 'b'
      * da URL, convertê-los para int e chamar este método.
      */
-    @RequestMapping(path = "/soma", method = HttpMethod.GET) // 2. Mapeia o método para uma rota.
+    @RequestMapping(path = "/soma", method = HttpMethod.GET, timeoutMillis = 2000) // 2. Mapeia o método para uma rota (prazo padrão de 2s).
     @InterceptBefore({LogInterceptor.class})
     @InterceptAfter({LogInterceptor.class})
+    @SingleFlight // Chamadas idênticas simultâneas compartilham uma única execução.
     public int soma(@Param(name = "a") int num1, @Param(name = "b") int num2) {
-        System.out.println("[CalculadoraController] Executando o metodo 'soma'...");
+        LOG.info("Executando o metodo 'soma'...");
         return num1 + num2;
     }
     /**
@@ -34,4 +43,12 @@ public class CalculadoraController {
     public String echo(@Param(name = "mensagem") String msg) {
         return "Você disse: " + msg;
     }
+    /**
+     * Um método POST que recebe o corpo em streaming (@Body) e conta seus bytes,
+     * usando memória constante independente do tamanho do upload.
+     */
+    @RequestMapping(path = "/contar-bytes", method = HttpMethod.POST)
+    public long contarBytes(@Body InputStream corpo) throws IOException {
+        return corpo.transferTo(OutputStream.nullOutputStream());
+    }
 }
\ No newline at end of file
@@ -1,19 +1,30 @@
 package com.projeto2.backend.interceptors;
 
 import com.projeto2.middleware.interceptors.Interceptor;
+import com.projeto2.middleware.logging.Logger;
+import com.projeto2.middleware.model.Deadline;
 
 /**
- * Um interceptor de exemplo que apenas imprime mensagens de log no console.
+ * Um interceptor de exemplo que apenas registra mensagens de log.
+ * Usa o log assíncrono do middleware, para não disputar o console com as outras requisições.
  */
 public class LogInterceptor implements Interceptor {
+    private static final Logger LOG = Logger.getLogger(LogInterceptor.class);
 
     @Override
     public void before() {
-        System.out.println("[LogInterceptor] >>> Interceptando ANTES da chamada do metodo...");
+        // O prazo restante da requisição fica disponível durante todo o processamento. É lido aqui,
+        // e não no toString() do Deadline, que só seria chamado depois, na thread de escrita do log.
+        Deadline deadline = Deadline.current();
+        if (deadline.hasTimeout()) {
+            LOG.info(">>> Interceptando ANTES da chamada do metodo... (prazo restante: {} ms)", deadline.remainingMillis());
+        } else {
+            LOG.info(">>> Interceptando ANTES da chamada do metodo...");
+        }
     }
 
     @Override
     public void after() {
-        System.out.println("[LogInterceptor] <<< Interceptando DEPOIS da chamada do metodo...");
+        LOG.info("<<< Interceptando DEPOIS da chamada do metodo...");
     }
 }
\ No newline at end of file
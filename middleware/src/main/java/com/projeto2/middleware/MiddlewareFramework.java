@@ -1,27 +1,50 @@
 package com.projeto2.middleware;
 
+import com.projeto2.middleware.annotations.Body;
 import com.projeto2.middleware.annotations.Controller;
 import com.projeto2.middleware.annotations.InterceptAfter;
 import com.projeto2.middleware.annotations.InterceptBefore;
 import com.projeto2.middleware.annotations.Param;
 import com.projeto2.middleware.annotations.RequestMapping;
+import com.projeto2.middleware.annotations.SingleFlight;
+
+import com.projeto2.middleware.enums.HttpMethod;
 
 import com.projeto2.middleware.interceptors.Interceptor;
 
+import com.projeto2.middleware.logging.Logger;
+
+import com.projeto2.middleware.model.Deadline;
 import com.projeto2.middleware.model.MiddlewareRequest;
 import com.projeto2.middleware.model.MiddlewareResponse;
 
+import com.projeto2.middleware.monitoring.Phase;
+import com.projeto2.middleware.monitoring.RequestTimer;
+import com.projeto2.middleware.monitoring.TraceBuffer;
+
+import com.projeto2.middleware.remoting.DeadlineExceededException;
+import com.projeto2.middleware.remoting.FormParser;
 import com.projeto2.middleware.remoting.Invoker;
 import com.projeto2.middleware.remoting.InvokerRegistry;
 import com.projeto2.middleware.remoting.LifecycleManager;
+import com.projeto2.middleware.remoting.PayloadTooLargeException;
+import com.projeto2.middleware.remoting.RequestLimits;
+import com.projeto2.middleware.remoting.SharedMemoryTransport;
+import com.projeto2.middleware.remoting.SingleFlightGroup;
+import com.projeto2.middleware.remoting.SocketChannelTransport;
 import com.projeto2.middleware.remoting.TcpTransport;
 import com.projeto2.middleware.remoting.TransportStrategy;
 import com.projeto2.middleware.remoting.UdpTransport;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,10 +53,36 @@ import java.util.List;
  * Coordena todos os outros componentes para escanear controllers e processar requisições.
  */
 public class MiddlewareFramework {
+    private static final Logger LOG = Logger.getLogger(MiddlewareFramework.class);
+
+    /**
+     * Rota reservada que responde "OK" enquanto o processo estiver atendendo requisições.
+     */
+    public static final String HEALTH_PATH = "/_middleware/health";
+
+    /**
+     * Rota reservada que lista as requisições amostradas, com o tempo de cada fase.
+     */
+    public static final String TRACES_PATH = "/_middleware/traces";
+
     // Referências para os componentes Singleton do middleware.
     private final InvokerRegistry invokerRegistry = InvokerRegistry.getInstance();
     private final LifecycleManager lifecycleManager = LifecycleManager.getInstance();
 
+    // Invocações @SingleFlight em andamento, compartilhadas entre requisições idênticas.
+    private final SingleFlightGroup singleFlight = new SingleFlightGroup();
+
+    // Limites de tamanho do corpo e dos parâmetros, aplicados durante a leitura.
+    private RequestLimits requestLimits = RequestLimits.DEFAULT;
+
+    /**
+     * Define os limites de tamanho das requisições. Deve ser chamado antes de start().
+     * @param requestLimits Os novos limites.
+     */
+    public void setRequestLimits(RequestLimits requestLimits) {
+        this.requestLimits = requestLimits;
+    }
+
     /**
      * Adiciona um controller ao framework. Este método usa Reflection para escanear
      * a classe em busca de métodos anotados e os registra no InvokerRegistry.
@@ -42,11 +91,11 @@ public class MiddlewareFramework {
     public void addController(Class<?> controllerClass) {
         // Garante que a classe passada é de fato um controller.
         if (!controllerClass.isAnnotationPresent(Controller.class)) {
-            System.err.println("Classe " + controllerClass.getName() + " nao e um @Controller. Ignorando.");
+            LOG.warn("Classe {} nao e um @Controller. Ignorando.", controllerClass.getName());
             return;
         }
 
-        System.out.println("Escaneando controller: " + controllerClass.getName());
+        LOG.info("Escaneando controller: {}", controllerClass.getName());
 
         // Itera sobre todos os métodos da classe.
         for (Method method : controllerClass.getDeclaredMethods()) {
@@ -62,10 +111,19 @@ public class MiddlewareFramework {
                     if (parameter.isAnnotationPresent(Param.class)) {
                         Param paramAnnotation = parameter.getAnnotation(Param.class);
                         parameterInfos.add(new Invoker.ParameterInfo(paramAnnotation.name(), parameter.getType()));
+                    } else if (parameter.isAnnotationPresent(Body.class)) {
+                        if (!isBodyType(parameter.getType())) {
+                            throw new IllegalArgumentException("Tipo nao suportado para @Body em " + routeKey + ": "
+                                    + parameter.getType().getName());
+                        }
+                        parameterInfos.add(new Invoker.ParameterInfo(parameter.getName(), parameter.getType(), true));
                     }
                 }
                 // Cria um Invoker com todas as informações coletadas.
-                Invoker invoker = new Invoker(controllerClass, method, parameterInfos);
+                Invoker invoker = new Invoker(controllerClass, method, parameterInfos, mapping.timeoutMillis());
+                if (method.isAnnotationPresent(SingleFlight.class) && invoker.hasBodyParameter()) {
+                    LOG.warn("@SingleFlight ignorado em {}: o corpo (@Body) nao pode ser compartilhado", routeKey);
+                }
                 // Registra o Invoker no "catálogo" de rotas.
                 invokerRegistry.registerInvoker(routeKey, invoker);
             }
@@ -74,72 +132,210 @@ public class MiddlewareFramework {
     /**
      * Inicia o framework com uma estratégia de transporte específica.
      * @param port A porta em que o servidor irá operar.
-     * @param protocol O protocolo a ser usado ("tcp" ou "udp").
+     * @param protocol O protocolo a ser usado ("tcp", "udp", "shm" ou "unix").
      */
     public void start(int port, String protocol) throws IOException {
-        System.out.println("Iniciando o MiddlewareFramework com transporte " + protocol.toUpperCase());
-
         // Padrão Strategy (Protocol Plug-in): Escolhe a implementação de transporte com base no parâmetro.
         TransportStrategy transport;
         if ("udp".equalsIgnoreCase(protocol)) {
             transport = new UdpTransport(port);
+        } else if ("shm".equalsIgnoreCase(protocol)) {
+            // Memória compartilhada: a porta só identifica o diretório dos slots.
+            transport = new SharedMemoryTransport(SharedMemoryTransport.defaultDirectory(port));
+        } else if ("unix".equalsIgnoreCase(protocol)) {
+            // Socket Unix: a porta só identifica o arquivo do socket.
+            transport = new SocketChannelTransport(UnixDomainSocketAddress.of(SocketChannelTransport.defaultUnixPath(port)));
         } else {
             // TCP é o transporte padrão.
-            transport = new TcpTransport(port);
+            transport = new TcpTransport(port, requestLimits);
         }
+        start(transport);
+    }
+    /**
+     * Inicia o framework com uma instância de transporte já configurada
+     * (ex: um ClusterTransport com a lista de workers).
+     * @param transport A estratégia de transporte a ser usada.
+     */
+    public void start(TransportStrategy transport) throws IOException {
+        LOG.info("Iniciando o MiddlewareFramework com transporte {}", transport.getClass().getSimpleName());
 
-        // Esta função lambda (handler) contém a LÓGICA CENTRAL do middleware.
-        // Ela é passada para a camada de transporte, que irá executá-la para cada requisição.
-        transport.start(request -> {
-            try {
-                // 1. Lookup: Usa a chave da rota (ex: "GET:/soma") para encontrar o Invoker.
-                String routeKey = request.method().name() + ":" + request.path();
-                Invoker invoker = invokerRegistry.getInvoker(routeKey);
+        // O método handle contém a LÓGICA CENTRAL do middleware.
+        // Ele é passado para a camada de transporte, que irá executá-lo para cada requisição.
+        transport.start(this::handle);
+    }
+    /**
+     * Habilita o buffer de traces amostrados, consultável pela rota reservada TRACES_PATH.
+     * Os eventos JFR de cada fase independem disto: são emitidos sempre que houver uma gravação ativa.
+     * @param sampleEvery Amostra, em média, uma a cada sampleEvery requisições.
+     * @param capacity Quantas requisições amostradas manter em memória.
+     */
+    public void enableTracing(int sampleEvery, int capacity) {
+        RequestTimer.setTraceBuffer(new TraceBuffer(sampleEvery, capacity));
+    }
+    /**
+     * Processa uma requisição já convertida para o modelo interno pelo transporte.
+     * Cada etapa é marcada no RequestTimer aberto pelo transporte (eventos JFR e traces amostrados)
+     * e só começa se o prazo da requisição (Deadline) não tiver expirado; caso contrário, a resposta é 504.
+     */
+    private MiddlewareResponse handle(MiddlewareRequest request) {
+        RequestTimer timer = RequestTimer.current();
+        try {
+            // Rota reservada usada pelos health checks do ClusterTransport.
+            if (HEALTH_PATH.equals(request.path())) {
+                return new MiddlewareResponse(200, "OK");
+            }
+            // Rota reservada com os traces amostrados (ver enableTracing).
+            if (TRACES_PATH.equals(request.path())) {
+                TraceBuffer traces = RequestTimer.getTraceBuffer();
+                return traces != null ? new MiddlewareResponse(200, traces.dump())
+                        : new MiddlewareResponse(404, "Tracing desabilitado");
+            }
 
-                if (invoker == null) {
-                    return new MiddlewareResponse(404, "Rota nao encontrada: " + routeKey);
-                }
+            // Requisições que expiraram esperando na fila são descartadas antes de qualquer trabalho.
+            checkDeadline(request.deadline());
 
-                // 2. Interceptors (Before): Executa interceptors de pré-processamento.
-                executeInterceptorsBefore(invoker.getMethod());
+            // 1. Lookup: Usa a chave da rota (ex: "GET:/soma") para encontrar o Invoker.
+            String routeKey = request.routeKey();
+            timer.route(routeKey);
+            timer.phase(Phase.LOOKUP);
+            Invoker invoker = invokerRegistry.getInvoker(routeKey);
 
-                // 3. Preparação de Argumentos: Converte os parâmetros (String) da requisição
-                // para os tipos corretos (int, etc.) esperados pelo método Java.
-                Object[] methodArgs = new Object[invoker.getParameters().size()];
-                for (int i = 0; i < invoker.getParameters().size(); i++) {
-                    Invoker.ParameterInfo paramInfo = invoker.getParameters().get(i);
-                    String paramValueStr = request.params().get(paramInfo.name());
+            if (invoker == null) {
+                return new MiddlewareResponse(404, "Rota nao encontrada: " + routeKey);
+            }
 
-                    if (paramValueStr == null) {
-                        return new MiddlewareResponse(400, "Parametro obrigatorio nao encontrado: " + paramInfo.name());
-                    }
-                    if (paramInfo.type() == int.class) {
-                        methodArgs[i] = Integer.parseInt(paramValueStr);
-                    } else if (paramInfo.type() == String.class) {
-                        methodArgs[i] = paramValueStr;
-                    }
-                }
+            // Prazo efetivo: o menor entre o do cliente e o padrão da rota. Fica visível para
+            // controllers e interceptors via Deadline.current().
+            Deadline deadline = request.deadline().withTimeout(invoker.getTimeoutMillis());
+            Deadline.bind(deadline);
+
+            // Parâmetros de formulário: o corpo de um POST é lido em streaming, par a par,
+            // a menos que o controller queira recebê-lo diretamente via @Body.
+            if (request.method() == HttpMethod.POST && !invoker.hasBodyParameter()) {
+                checkDeadline(deadline);
+                timer.phase(Phase.UNMARSHAL);
+                FormParser.parse(request.body(), request.params(), requestLimits.maxParamSize());
+            }
 
-                // 4. Lifecycle Manager: Obtém uma instância do controller para invocar o método.
-                Object controllerInstance = lifecycleManager.getInstance(invoker.getControllerClass());
+            // 2. Interceptors (Before): Executa interceptors de pré-processamento.
+            checkDeadline(deadline);
+            timer.phase(Phase.INTERCEPT_BEFORE);
+            executeInterceptorsBefore(invoker.getMethod());
 
-                // 5. Invoke: Usa Reflection para chamar o método do controller com os argumentos preparados.
-                Object result = invoker.getMethod().invoke(controllerInstance, methodArgs);
+            // 3-5. Argumentos, Lifecycle e Invoke. Com @SingleFlight, requisições concorrentes
+            // idênticas (mesma rota e parâmetros) compartilham uma única invocação.
+            MiddlewareResponse response;
+            if (invoker.getMethod().isAnnotationPresent(SingleFlight.class) && !invoker.hasBodyParameter()) {
+                response = singleFlight.execute(routeKey + "?" + request.canonicalParams(), deadline,
+                        () -> invoke(invoker, request, timer, deadline));
+            } else {
+                response = invoke(invoker, request, timer, deadline);
+            }
+            if (response.statusCode() != 200) {
+                return response;
+            }
 
-                // 6. Interceptors (After): Executa interceptors de pós-processamento.
-                executeInterceptorsAfter(invoker.getMethod());
+            // 6. Interceptors (After): Executa interceptors de pós-processamento.
+            checkDeadline(deadline);
+            timer.phase(Phase.INTERCEPT_AFTER);
+            executeInterceptorsAfter(invoker.getMethod());
 
-                // 7. Resposta: Cria uma resposta de sucesso.
-                return new MiddlewareResponse(200, result != null ? result.toString() : "");
+            // 7. Resposta.
+            return response;
+
+        } catch (DeadlineExceededException e) {
+            // Tratamento de Erros: O cliente já não espera mais pela resposta.
+            return new MiddlewareResponse(504, e.getMessage());
+        } catch (PayloadTooLargeException e) {
+            // Tratamento de Erros: Corpo ou parâmetro acima dos limites configurados.
+            return new MiddlewareResponse(413, e.getMessage());
+        } catch (InvocationTargetException e) {
+            // O limite também vale quando é o próprio controller que lê o corpo (@Body).
+            if (e.getTargetException() instanceof PayloadTooLargeException tooLarge) {
+                return new MiddlewareResponse(413, tooLarge.getMessage());
+            }
+            // Idem para o prazo, quando o controller desiste ao consultar Deadline.current().
+            if (e.getTargetException() instanceof DeadlineExceededException expired) {
+                return new MiddlewareResponse(504, expired.getMessage());
+            }
+            // Tratamento de Erros: Se o método do controller lançar uma exceção.
+            return new MiddlewareResponse(500, "Erro interno no servidor: " + e.getTargetException().getMessage());
+        } catch (Exception e) {
+            // Tratamento de Erros: Para outros erros do middleware (ex: parsing).
+            return new MiddlewareResponse(400, "Requisicao invalida: " + e.getMessage());
+        } finally {
+            Deadline.clear();
+        }
+    }
+    /**
+     * Converte os argumentos, obtém o controller e invoca o método, montando a resposta de sucesso.
+     * @return A resposta 200 com o resultado, ou 400 se faltar um parâmetro obrigatório.
+     */
+    private MiddlewareResponse invoke(Invoker invoker, MiddlewareRequest request, RequestTimer timer,
+                                      Deadline deadline) throws Exception {
+        // 3. Preparação de Argumentos: Converte os parâmetros (String) da requisição
+        // para os tipos corretos (int, etc.) esperados pelo método Java.
+        checkDeadline(deadline);
+        timer.phase(Phase.ARGUMENTS);
+        Object[] methodArgs = new Object[invoker.getParameters().size()];
+        for (int i = 0; i < invoker.getParameters().size(); i++) {
+            Invoker.ParameterInfo paramInfo = invoker.getParameters().get(i);
+            if (paramInfo.body()) {
+                methodArgs[i] = toBodyArgument(paramInfo.type(), request.body());
+                continue;
+            }
+            String paramValueStr = request.params().get(paramInfo.name());
 
-            } catch (InvocationTargetException e) {
-                // Tratamento de Erros: Se o método do controller lançar uma exceção.
-                return new MiddlewareResponse(500, "Erro interno no servidor: " + e.getTargetException().getMessage());
-            } catch (Exception e) {
-                // Tratamento de Erros: Para outros erros do middleware (ex: parsing).
-                return new MiddlewareResponse(400, "Requisicao invalida: " + e.getMessage());
+            if (paramValueStr == null) {
+                return new MiddlewareResponse(400, "Parametro obrigatorio nao encontrado: " + paramInfo.name());
             }
-        });
+            if (paramInfo.type() == int.class) {
+                methodArgs[i] = Integer.parseInt(paramValueStr);
+            } else if (paramInfo.type() == String.class) {
+                methodArgs[i] = paramValueStr;
+            }
+        }
+
+        // 4. Lifecycle Manager: Obtém uma instância do controller para invocar o método.
+        checkDeadline(deadline);
+        timer.phase(Phase.LIFECYCLE);
+        Object controllerInstance = lifecycleManager.getInstance(invoker.getControllerClass());
+
+        // 5. Invoke: Usa Reflection para chamar o método do controller com os argumentos preparados.
+        checkDeadline(deadline);
+        timer.phase(Phase.INVOKE);
+        Object result = invoker.getMethod().invoke(controllerInstance, methodArgs);
+
+        return new MiddlewareResponse(200, result != null ? result.toString() : "");
+    }
+    /**
+     * Interrompe o processamento se o prazo da requisição já expirou: daqui em diante
+     * seria trabalho que ninguém mais espera.
+     */
+    private void checkDeadline(Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException("Prazo da requisicao expirado");
+        }
+    }
+    /**
+     * Verifica se um tipo pode receber o corpo da requisição via @Body.
+     */
+    private boolean isBodyType(Class<?> type) {
+        return type == InputStream.class || type == ReadableByteChannel.class || type == ByteBuffer.class;
+    }
+    /**
+     * Adapta o corpo da requisição ao tipo declarado no parâmetro @Body.
+     * InputStream e ReadableByteChannel são entregues sem leitura prévia (memória constante);
+     * ByteBuffer lê o corpo inteiro, o que continua limitado por RequestLimits.maxBodySize().
+     */
+    private Object toBodyArgument(Class<?> type, InputStream body) throws IOException {
+        if (type == ReadableByteChannel.class) {
+            return Channels.newChannel(body);
+        }
+        if (type == ByteBuffer.class) {
+            return ByteBuffer.wrap(body.readAllBytes());
+        }
+        return body;
     }
     /**
      * Método auxiliar que encontra e executa os interceptors @InterceptBefore de um método.
@@ -0,0 +1,16 @@
+package com.projeto2.middleware.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Anotação de nível de parâmetro para receber o corpo da requisição sem que o middleware
+ * o leia para a memória como parâmetros de formulário.
+ * Tipos suportados: InputStream, ReadableByteChannel e ByteBuffer.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER) // Só pode ser usada em parâmetros de métodos.
+public @interface Body {
+}
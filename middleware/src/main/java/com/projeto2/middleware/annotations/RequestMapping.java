@@ -21,4 +21,10 @@ public @interface RequestMapping {
      * O método HTTP (GET, POST, etc.).
      */
     HttpMethod method();
+
+    /**
+     * Prazo padrão da rota em milissegundos, contado a partir da chegada da requisição (0 = sem prazo).
+     * Se o cliente informar um prazo menor, vale o do cliente.
+     */
+    long timeoutMillis() default 0;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.projeto2.middleware.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Anotação de nível de método (junto com @RequestMapping) que agrupa chamadas concorrentes idênticas:
+ * enquanto uma invocação com a mesma rota e os mesmos parâmetros estiver em andamento, as demais
+ * aguardam e recebem o mesmo resultado, em vez de executar o método de novo.
+ * Nada é guardado depois que a invocação termina (não é um cache).
+ * Indicado para métodos idempotentes e caros; ignorado em métodos que recebem o corpo via @Body.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD) // Só pode ser usada em métodos.
+public @interface SingleFlight {
+}
@@ -0,0 +1,38 @@
+package com.projeto2.middleware.cluster;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros de operação do ClusterTransport.
+ *
+ * @param dispatcherThreads Threads que atendem os clientes e aguardam a resposta dos workers.
+ * @param requestTimeout Tempo máximo de espera pela resposta de um worker.
+ * @param healthCheckInterval Intervalo entre health checks de cada worker.
+ * @param healthCheckTimeout Tempo máximo de resposta de um health check.
+ * @param maxConsecutiveFailures Falhas seguidas que retiram um worker do balanceamento.
+ * @param slowFactor Um worker é considerado lento quando sua latência média passa
+ *                   deste múltiplo da mediana dos demais workers.
+ * @param slowLatencyFloor Latência abaixo da qual um worker nunca é considerado lento.
+ * @param ejectionCooldown Tempo mínimo fora do balanceamento antes que um health check
+ *                         bem-sucedido possa readmitir o worker.
+ */
+public record ClusterConfig(
+        int dispatcherThreads,
+        Duration requestTimeout,
+        Duration healthCheckInterval,
+        Duration healthCheckTimeout,
+        int maxConsecutiveFailures,
+        double slowFactor,
+        Duration slowLatencyFloor,
+        Duration ejectionCooldown
+) {
+    public static final ClusterConfig DEFAULT = new ClusterConfig(
+            64,
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(1),
+            3,
+            3.0,
+            Duration.ofMillis(50),
+            Duration.ofSeconds(10));
+}
@@ -0,0 +1,289 @@
+package com.projeto2.middleware.cluster;
+
+import com.projeto2.middleware.MiddlewareFramework;
+import com.projeto2.middleware.enums.HttpMethod;
+import com.projeto2.middleware.logging.Logger;
+import com.projeto2.middleware.model.Deadline;
+import com.projeto2.middleware.model.MiddlewareRequest;
+import com.projeto2.middleware.model.MiddlewareResponse;
+import com.projeto2.middleware.remoting.ArrivalTimeExecutor;
+import com.projeto2.middleware.remoting.FormParser;
+import com.projeto2.middleware.remoting.TcpTransport;
+import com.projeto2.middleware.remoting.TransportStrategy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Transporte "dispatcher" do modo cluster local: aceita o tráfego HTTP dos clientes numa porta
+ * e o repassa a um conjunto de processos worker (cada um um MiddlewareFramework com TcpTransport).
+ *
+ * - A escolha do worker é feita por um LoadBalancer (menos requisições em andamento ou hash consistente).
+ * - Health checks periódicos na rota reservada MiddlewareFramework.HEALTH_PATH retiram e readmitem workers.
+ * - Workers com falhas seguidas ou latência muito acima da dos demais são ejetados temporariamente.
+ * - As conexões com os workers são mantidas e reutilizadas pelo HttpClient (keep-alive).
+ * - O prazo do cliente (TcpTransport.TIMEOUT_HEADER) é repassado ao worker já descontado do tempo gasto no dispatcher.
+ *
+ * O dispatcher não executa controllers: o handler do framework recebido em start() não é usado.
+ */
+public class ClusterTransport implements TransportStrategy {
+    private static final Logger LOG = Logger.getLogger(ClusterTransport.class);
+
+    private final int port;
+    private final List<WorkerNode> workers;
+    private final LoadBalancer balancer;
+    private final ClusterConfig config;
+    private final HttpClient client;
+
+    public ClusterTransport(int port, List<URI> workerUris) {
+        this(port, workerUris, new LeastOutstandingBalancer(), ClusterConfig.DEFAULT);
+    }
+
+    /**
+     * @param port A porta em que o dispatcher atende os clientes.
+     * @param workerUris Endereço base de cada worker (ex: http://localhost:8081).
+     * @param balancer A estratégia de balanceamento.
+     * @param config Timeouts, health checks e critérios de ejeção.
+     */
+    public ClusterTransport(int port, List<URI> workerUris, LoadBalancer balancer, ClusterConfig config) {
+        if (workerUris.isEmpty()) {
+            throw new IllegalArgumentException("O cluster precisa de pelo menos um worker");
+        }
+        this.port = port;
+        List<WorkerNode> nodes = new ArrayList<>();
+        for (URI uri : workerUris) {
+            nodes.add(new WorkerNode(uri));
+        }
+        this.workers = List.copyOf(nodes);
+        this.balancer = balancer;
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.healthCheckTimeout())
+                .build();
+    }
+
+    public List<WorkerNode> getWorkers() {
+        return workers;
+    }
+
+    @Override
+    public void start(Function<MiddlewareRequest, MiddlewareResponse> handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(this.port), 0);
+        server.createContext("/", httpExchange -> {
+            try (httpExchange) {
+                this.dispatch(httpExchange);
+            } catch (Exception e) {
+                LOG.error("Erro critico no dispatcher do cluster: {}", e.getMessage());
+            }
+        });
+        // Cada requisição ocupa uma thread enquanto aguarda o worker.
+        ExecutorService dispatcherPool = Executors.newFixedThreadPool(config.dispatcherThreads());
+        // O prazo do cliente conta também a espera na fila do pool.
+        server.setExecutor(new ArrivalTimeExecutor(dispatcherPool));
+        server.start();
+
+        ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cluster-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.healthCheckInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+
+        LOG.info("Dispatcher do cluster iniciado na porta {} com workers {}", this.port, workers);
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        HttpMethod method = HttpMethod.valueOf(exchange.getRequestMethod().toUpperCase());
+        String requestKey = requestKey(method, exchange);
+        Deadline deadline = Deadline.startingAt(ArrivalTimeExecutor.receivedAt(), TcpTransport.requestTimeout(exchange));
+        // Requisições sem corpo podem ser repetidas em outro worker se o primeiro falhar;
+        // o corpo (POST, PUT) é repassado em streaming e só pode ser lido uma vez.
+        int attempts = hasBody(method) ? 1 : workers.size();
+
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            if (deadline.isExpired()) {
+                respond(exchange, 504, "Prazo da requisicao expirado".getBytes(StandardCharsets.UTF_8), null);
+                return;
+            }
+            WorkerNode worker = balancer.choose(workers, requestKey);
+            if (worker == null) {
+                respond(exchange, 503, "Nenhum worker disponivel".getBytes(StandardCharsets.UTF_8), null);
+                return;
+            }
+            worker.acquire();
+            long startNanos = System.nanoTime();
+            try {
+                HttpResponse<byte[]> response = client.send(forwardRequest(method, exchange, worker, deadline),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                worker.recordSuccess(System.nanoTime() - startNanos);
+                ejectIfSlow(worker);
+                respond(exchange, response.statusCode(), response.body(),
+                        response.headers().firstValue("Content-Type").orElse(null));
+                return;
+            } catch (HttpConnectTimeoutException e) {
+                onFailure(worker, e); // Subclasse de HttpTimeoutException, mas nada foi enviado: tenta o próximo worker.
+            } catch (HttpTimeoutException e) {
+                // Se foi o prazo do cliente que acabou, o worker não tem culpa.
+                if (deadline.isExpired()) {
+                    respond(exchange, 504, "Prazo da requisicao expirado".getBytes(StandardCharsets.UTF_8), null);
+                    return;
+                }
+                onFailure(worker, e);
+                respond(exchange, 504, ("Worker nao respondeu a tempo: " + worker).getBytes(StandardCharsets.UTF_8), null);
+                return;
+            } catch (ConnectException e) {
+                onFailure(worker, e); // Nada foi enviado: tenta o próximo worker.
+            } catch (IOException e) {
+                onFailure(worker, e);
+                if (attempt == attempts - 1) {
+                    respond(exchange, 502, ("Falha no worker " + worker + ": " + e.getMessage())
+                            .getBytes(StandardCharsets.UTF_8), null);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                worker.release();
+            }
+        }
+        respond(exchange, 503, "Nenhum worker disponivel".getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    // Chave usada pelo hash consistente: rota + parâmetros da query em ordem canônica.
+    // Os parâmetros de um corpo POST não entram, pois o corpo não é lido pelo dispatcher.
+    private String requestKey(HttpMethod method, HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        FormParser.parseQuery(exchange.getRequestURI().getRawQuery(), params);
+        MiddlewareRequest request = new MiddlewareRequest(method, exchange.getRequestURI().getPath(), params);
+        return request.routeKey() + "?" + request.canonicalParams();
+    }
+
+    private HttpRequest forwardRequest(HttpMethod method, HttpExchange exchange, WorkerNode worker, Deadline deadline) {
+        URI target = worker.getBaseUri().resolve(exchange.getRequestURI().getRawPath()
+                + (exchange.getRequestURI().getRawQuery() != null ? "?" + exchange.getRequestURI().getRawQuery() : ""));
+        HttpRequest.BodyPublisher body = hasBody(method)
+                ? HttpRequest.BodyPublishers.ofInputStream(exchange::getRequestBody)
+                : HttpRequest.BodyPublishers.noBody();
+        Duration timeout = config.requestTimeout();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target).method(method.name(), body);
+        if (deadline.hasTimeout()) {
+            // O worker recebe apenas o que sobrou do prazo; o dispatcher não espera além disso.
+            long remaining = Math.max(1, deadline.remainingMillis());
+            builder.header(TcpTransport.TIMEOUT_HEADER, Long.toString(remaining));
+            timeout = timeout.compareTo(Duration.ofMillis(remaining)) < 0 ? timeout : Duration.ofMillis(remaining);
+        }
+        builder.timeout(timeout);
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        return builder.build();
+    }
+
+    private static boolean hasBody(HttpMethod method) {
+        return method == HttpMethod.POST || method == HttpMethod.PUT;
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body, String contentType) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private void onFailure(WorkerNode worker, Exception e) {
+        int failures = worker.recordFailure();
+        LOG.warn("Falha ao encaminhar para {}: {}", worker, e.toString());
+        // Conexões recusadas contam como qualquer outra falha: um worker reiniciando ou com o
+        // backlog de accept cheio não deve sair do balanceamento por uma única recusa.
+        if (failures >= config.maxConsecutiveFailures()) {
+            eject(worker, "falhas consecutivas");
+        }
+    }
+
+    /**
+     * Ejeta o worker se sua latência média passar de slowFactor vezes a mediana dos demais
+     * workers disponíveis. Nunca ejeta o último worker disponível.
+     */
+    private void ejectIfSlow(WorkerNode worker) {
+        double latency = worker.getAverageLatencyNanos();
+        if (latency < config.slowLatencyFloor().toNanos()) {
+            return;
+        }
+        List<Double> others = new ArrayList<>();
+        for (WorkerNode other : workers) {
+            if (other != worker && other.isAvailable() && other.getAverageLatencyNanos() > 0) {
+                others.add(other.getAverageLatencyNanos());
+            }
+        }
+        if (others.isEmpty()) {
+            return;
+        }
+        others.sort(null);
+        double median = others.get(others.size() / 2);
+        if (latency > median * config.slowFactor()) {
+            eject(worker, "latencia media de " + (long) (latency / 1_000_000) + " ms");
+        }
+    }
+
+    private void eject(WorkerNode worker, String reason) {
+        if (worker.isAvailable()) {
+            worker.eject();
+            LOG.warn("Worker {} ejetado do balanceamento ({})", worker, reason);
+        }
+    }
+
+    // Executado periodicamente: retira workers que não respondem e readmite os que se recuperaram.
+    private void checkHealth() {
+        for (WorkerNode worker : workers) {
+            HttpRequest request = HttpRequest.newBuilder(worker.getBaseUri().resolve(MiddlewareFramework.HEALTH_PATH))
+                    .timeout(config.healthCheckTimeout())
+                    .GET()
+                    .build();
+            boolean healthy;
+            try {
+                healthy = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                healthy = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!healthy) {
+                eject(worker, "health check falhou");
+            } else if (!worker.isAvailable()
+                    && System.nanoTime() - worker.getEjectedAtNanos() >= config.ejectionCooldown().toNanos()) {
+                worker.readmit();
+                LOG.info("Worker {} readmitido no balanceamento", worker);
+            }
+        }
+    }
+}
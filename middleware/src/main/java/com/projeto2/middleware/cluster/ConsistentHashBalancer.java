@@ -0,0 +1,77 @@
+package com.projeto2.middleware.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hash consistente sobre a chave da requisição (rota + parâmetros canônicos): a mesma chamada
+ * cai sempre no mesmo worker, mantendo quentes os caches locais de cada processo.
+ * Quando um worker sai do balanceamento, só as chaves dele migram para o próximo nó do anel.
+ */
+public class ConsistentHashBalancer implements LoadBalancer {
+    private static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final int virtualNodes;
+    private volatile TreeMap<Long, WorkerNode> ring;
+
+    public ConsistentHashBalancer() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param virtualNodes Pontos de cada worker no anel; mais pontos distribuem a carga de forma mais uniforme.
+     */
+    public ConsistentHashBalancer(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    @Override
+    public WorkerNode choose(List<WorkerNode> workers, String requestKey) {
+        TreeMap<Long, WorkerNode> ring = ringFor(workers);
+        // Percorre o anel a partir do hash da chave até achar um worker disponível.
+        Map.Entry<Long, WorkerNode> entry = ring.ceilingEntry(hash(requestKey));
+        for (int i = 0; i < ring.size(); i++) {
+            if (entry == null) {
+                entry = ring.firstEntry();
+            }
+            if (entry.getValue().isAvailable()) {
+                return entry.getValue();
+            }
+            entry = ring.higherEntry(entry.getKey());
+        }
+        return null;
+    }
+
+    // A lista de workers do cluster é fixa, então o anel é montado uma única vez.
+    private TreeMap<Long, WorkerNode> ringFor(List<WorkerNode> workers) {
+        TreeMap<Long, WorkerNode> current = ring;
+        if (current == null) {
+            current = new TreeMap<>();
+            for (WorkerNode worker : workers) {
+                for (int i = 0; i < virtualNodes; i++) {
+                    current.put(hash(worker.getBaseUri() + "#" + i), worker);
+                }
+            }
+            ring = current;
+        }
+        return current;
+    }
+
+    // FNV-1a de 64 bits seguido do finalizador do MurmurHash3: sem a mistura final, chaves que
+    // diferem só nos últimos caracteres ficam concentradas num trecho pequeno do anel.
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
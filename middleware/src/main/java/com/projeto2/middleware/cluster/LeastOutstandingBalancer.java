@@ -0,0 +1,27 @@
+package com.projeto2.middleware.cluster;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia a requisição ao worker disponível com menos requisições em andamento.
+ * Em caso de empate, a busca começa num índice rotativo para não favorecer sempre o primeiro worker.
+ */
+public class LeastOutstandingBalancer implements LoadBalancer {
+    private final AtomicInteger offset = new AtomicInteger();
+
+    @Override
+    public WorkerNode choose(List<WorkerNode> workers, String requestKey) {
+        int size = workers.size();
+        int start = Math.floorMod(offset.getAndIncrement(), size);
+        WorkerNode best = null;
+        for (int i = 0; i < size; i++) {
+            WorkerNode candidate = workers.get((start + i) % size);
+            if (candidate.isAvailable()
+                    && (best == null || candidate.getOutstanding() < best.getOutstanding())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
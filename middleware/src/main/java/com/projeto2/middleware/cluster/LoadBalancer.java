@@ -0,0 +1,16 @@
+package com.projeto2.middleware.cluster;
+
+import java.util.List;
+
+/**
+ * Estratégia de escolha do worker que atenderá uma requisição.
+ */
+public interface LoadBalancer {
+    /**
+     * Escolhe um worker disponível.
+     * @param workers Todos os workers do cluster (disponíveis ou não), sempre na mesma ordem.
+     * @param requestKey Chave canônica da requisição (rota + parâmetros ordenados).
+     * @return O worker escolhido, ou null se nenhum estiver disponível.
+     */
+    WorkerNode choose(List<WorkerNode> workers, String requestKey);
+}
@@ -0,0 +1,91 @@
+package com.projeto2.middleware.cluster;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Um processo worker do cluster, com o estado que o dispatcher acompanha:
+ * requisições em andamento, latência média e se está apto a receber tráfego.
+ */
+public class WorkerNode {
+    // Peso da amostra mais recente na média móvel exponencial de latência.
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final URI baseUri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile double averageLatencyNanos;
+    private volatile boolean available = true;
+    private volatile long ejectedAtNanos;
+
+    public WorkerNode(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public double getAverageLatencyNanos() {
+        return averageLatencyNanos;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Registra uma resposta bem-sucedida e atualiza a latência média.
+     */
+    void recordSuccess(long latencyNanos) {
+        consecutiveFailures.set(0);
+        double current = averageLatencyNanos;
+        // Atualização sem lock: uma amostra perdida numa corrida não altera a tendência da média.
+        averageLatencyNanos = current == 0 ? latencyNanos : current + EWMA_ALPHA * (latencyNanos - current);
+    }
+
+    /**
+     * Registra uma falha e retorna quantas falhas seguidas o worker acumula.
+     */
+    int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void eject() {
+        if (available) {
+            available = false;
+            ejectedAtNanos = System.nanoTime();
+        }
+    }
+
+    long getEjectedAtNanos() {
+        return ejectedAtNanos;
+    }
+
+    /**
+     * Devolve o worker ao balanceamento, descartando o histórico de latência e falhas.
+     */
+    void readmit() {
+        consecutiveFailures.set(0);
+        averageLatencyNanos = 0;
+        available = true;
+    }
+
+    @Override
+    public String toString() {
+        return baseUri.toString();
+    }
+}
@@ -0,0 +1,304 @@
+package com.projeto2.middleware.logging;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Núcleo assíncrono do log: um buffer circular pré-alocado com vários produtores
+ * (as threads das requisições) e um único consumidor (a thread de escrita).
+ *
+ * As threads das requisições apenas copiam referências para um slot já existente e seguem;
+ * a formatação e a escrita no console acontecem na thread de escrita, que é a única a tocar
+ * em System.out/System.err. Assim o console deixa de ser um lock global no caminho das requisições.
+ *
+ * Configuração via propriedades de sistema (lidas na inicialização):
+ * middleware.log.level (DEBUG, INFO, WARN, ERROR; padrão INFO),
+ * middleware.log.bufferSize (padrão 8192, arredondado para potência de 2) e
+ * middleware.log.overflow (DROP ou BLOCK; padrão DROP).
+ */
+public final class AsyncLogWriter {
+    private static final AsyncLogWriter INSTANCE = new AsyncLogWriter(
+            parseLevel(System.getProperty("middleware.log.level", "INFO")),
+            Integer.getInteger("middleware.log.bufferSize", 8192),
+            parseOverflowPolicy(System.getProperty("middleware.log.overflow", "DROP")));
+
+    // Sem mensagens, a thread de escrita dorme por intervalos que dobram de 1 ms até 100 ms,
+    // para não acordar mil vezes por segundo num processo ocioso.
+    private static final long MIN_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LogEvent[] slots;
+    // Número de sequência de cada slot (algoritmo de fila limitada de Vyukov):
+    // seq == posição -> livre para o produtor; seq == posição + 1 -> pronto para o consumidor.
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // Acessado apenas pela thread de escrita.
+
+    private final OverflowPolicy overflowPolicy;
+    private volatile LogLevel level;
+    private final LongAdder dropped = new LongAdder();
+
+    private final Writer out = new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 16 * 1024);
+    private final Writer err = new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(FileDescriptor.err), StandardCharsets.UTF_8), 4 * 1024);
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile boolean running = true;
+    private final Thread writerThread;
+
+    private AsyncLogWriter(LogLevel level, int requestedCapacity, OverflowPolicy overflowPolicy) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new LogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogEvent();
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.level = level;
+        this.overflowPolicy = overflowPolicy;
+
+        this.writerThread = new Thread(this::drainLoop, "middleware-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        // Garante que as mensagens pendentes sejam escritas quando a JVM encerrar.
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "middleware-log-shutdown"));
+    }
+
+    public static AsyncLogWriter getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= this.level.ordinal();
+    }
+
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Quantidade de mensagens descartadas por buffer cheio (política DROP).
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Reserva um slot no buffer e copia os dados da mensagem para ele.
+     * Não formata nem aloca: a thread chamadora só disputa um CAS no índice de escrita.
+     */
+    void publish(LogLevel level, String loggerName, String template, int argCount,
+                 Object arg1, Object arg2, Object arg3, Throwable throwable) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                // Buffer cheio: a thread de escrita ainda não liberou este slot.
+                if (overflowPolicy == OverflowPolicy.DROP || !running) {
+                    dropped.increment();
+                    return;
+                }
+                // A thread de escrita pode estar no meio de uma espera longa: acorda-a antes de esperar.
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(MIN_IDLE_PARK_NANOS);
+            } else {
+                Thread.onSpinWait(); // Outro produtor pegou esta posição; tenta a próxima.
+            }
+        }
+
+        LogEvent event = slots[index];
+        event.level = level;
+        event.loggerName = loggerName;
+        event.template = template;
+        event.argCount = argCount;
+        event.arg1 = arg1;
+        event.arg2 = arg2;
+        event.arg3 = arg3;
+        event.throwable = throwable;
+        // Publica o slot para o consumidor (escrita ordenada após o preenchimento dos campos).
+        sequences.lazySet(index, position + 1);
+    }
+
+    private void drainLoop() {
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        while (running) {
+            if (drain() == 0) {
+                flush();
+                LockSupport.parkNanos(idleParkNanos);
+                idleParkNanos = Math.min(idleParkNanos * 2, MAX_IDLE_PARK_NANOS);
+            } else {
+                idleParkNanos = MIN_IDLE_PARK_NANOS;
+            }
+        }
+        drain();
+        flush();
+    }
+
+    // Escreve todas as mensagens disponíveis e retorna quantas foram processadas.
+    private int drain() {
+        int count = 0;
+        while (true) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                return count;
+            }
+            LogEvent event = slots[index];
+            try {
+                write(event);
+            } catch (Throwable t) {
+                // Ex: o toString() de um argumento lançou exceção. A mensagem vira um aviso,
+                // mas a thread de escrita não pode morrer, ou todas as mensagens seguintes se perdem.
+                writeFailure(event, t);
+            } finally {
+                event.clear();
+                // Devolve o slot aos produtores para a próxima volta do buffer.
+                sequences.lazySet(index, head + slots.length);
+                head++;
+                count++;
+            }
+        }
+    }
+
+    private void write(LogEvent event) {
+        line.setLength(0);
+        line.append(event.level.name());
+        for (int i = event.level.name().length(); i < 6; i++) {
+            line.append(' ');
+        }
+        line.append('[').append(event.loggerName).append("] ");
+        format(event);
+        line.append(System.lineSeparator());
+
+        Writer target = event.level.ordinal() >= LogLevel.WARN.ordinal() ? err : out;
+        try {
+            target.append(line);
+            if (event.throwable != null) {
+                PrintWriter printer = new PrintWriter(target);
+                event.throwable.printStackTrace(printer);
+                printer.flush();
+            }
+        } catch (IOException ignored) {
+            // Não há para onde reportar uma falha do próprio console.
+        }
+    }
+
+    // Escreve, no lugar da mensagem que não pôde ser formatada, o template e a causa da falha.
+    private void writeFailure(LogEvent event, Throwable failure) {
+        line.setLength(0);
+        line.append(LogLevel.ERROR.name()).append(' ')
+                .append('[').append(event.loggerName).append("] ")
+                .append("Falha ao formatar mensagem de log (").append(failure.getClass().getName()).append("): ")
+                .append(event.template)
+                .append(System.lineSeparator());
+        try {
+            err.append(line);
+        } catch (IOException ignored) {
+            // Não há para onde reportar uma falha do próprio console.
+        }
+    }
+
+    // Substitui cada "{}" do template pelo próximo argumento.
+    private void format(LogEvent event) {
+        String template = event.template;
+        int argIndex = 0;
+        int start = 0;
+        int marker;
+        while (argIndex < event.argCount && (marker = template.indexOf("{}", start)) != -1) {
+            line.append(template, start, marker);
+            line.append(event.arg(argIndex++));
+            start = marker + 2;
+        }
+        line.append(template, start, template.length());
+    }
+
+    private void flush() {
+        try {
+            out.flush();
+            err.flush();
+        } catch (IOException ignored) {
+            // Idem.
+        }
+    }
+
+    private void shutdown() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OverflowPolicy parseOverflowPolicy(String value) {
+        try {
+            return OverflowPolicy.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return OverflowPolicy.DROP;
+        }
+    }
+
+    private static LogLevel parseLevel(String value) {
+        try {
+            return LogLevel.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return LogLevel.INFO;
+        }
+    }
+
+    /**
+     * Um slot do buffer circular. Os objetos são criados uma única vez e reutilizados.
+     */
+    private static final class LogEvent {
+        LogLevel level;
+        String loggerName;
+        String template;
+        int argCount;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+        Throwable throwable;
+
+        Object arg(int index) {
+            return switch (index) {
+                case 0 -> arg1;
+                case 1 -> arg2;
+                default -> arg3;
+            };
+        }
+
+        // Solta as referências para não reter objetos das requisições até a próxima volta.
+        void clear() {
+            template = null;
+            arg1 = null;
+            arg2 = null;
+            arg3 = null;
+            throwable = null;
+        }
+    }
+}
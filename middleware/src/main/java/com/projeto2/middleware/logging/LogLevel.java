@@ -0,0 +1,11 @@
+package com.projeto2.middleware.logging;
+
+/**
+ * Níveis de log, do mais detalhado ao mais grave.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR
+}
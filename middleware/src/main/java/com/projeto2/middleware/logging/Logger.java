@@ -0,0 +1,117 @@
+package com.projeto2.middleware.logging;
+
+/**
+ * Fachada de log usada pelo framework, pelos Interceptors e pelas aplicações.
+ * As mensagens são parametrizadas com "{}" e só são formatadas (na thread de escrita)
+ * se o nível estiver habilitado. As sobrecargas com 1, 2 e 3 argumentos evitam a
+ * alocação de um array de varargs a cada chamada.
+ *
+ * Uso: {@code private static final Logger LOG = Logger.getLogger(MinhaClasse.class);}
+ */
+public final class Logger {
+    private static final AsyncLogWriter WRITER = AsyncLogWriter.getInstance();
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Cria um logger identificado pelo nome simples da classe (ex: "InvokerRegistry").
+     */
+    public static Logger getLogger(Class<?> clazz) {
+        return new Logger(clazz.getSimpleName());
+    }
+
+    public static Logger getLogger(String name) {
+        return new Logger(name);
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return WRITER.isEnabled(level);
+    }
+
+    public boolean isDebugEnabled() {
+        return WRITER.isEnabled(LogLevel.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(LogLevel.DEBUG, message, 0, null, null, null, null);
+    }
+
+    public void debug(String template, Object arg1) {
+        log(LogLevel.DEBUG, template, 1, arg1, null, null, null);
+    }
+
+    public void debug(String template, Object arg1, Object arg2) {
+        log(LogLevel.DEBUG, template, 2, arg1, arg2, null, null);
+    }
+
+    public void debug(String template, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.DEBUG, template, 3, arg1, arg2, arg3, null);
+    }
+
+    public void info(String message) {
+        log(LogLevel.INFO, message, 0, null, null, null, null);
+    }
+
+    public void info(String template, Object arg1) {
+        log(LogLevel.INFO, template, 1, arg1, null, null, null);
+    }
+
+    public void info(String template, Object arg1, Object arg2) {
+        log(LogLevel.INFO, template, 2, arg1, arg2, null, null);
+    }
+
+    public void info(String template, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.INFO, template, 3, arg1, arg2, arg3, null);
+    }
+
+    public void warn(String message) {
+        log(LogLevel.WARN, message, 0, null, null, null, null);
+    }
+
+    public void warn(String template, Object arg1) {
+        log(LogLevel.WARN, template, 1, arg1, null, null, null);
+    }
+
+    public void warn(String template, Object arg1, Object arg2) {
+        log(LogLevel.WARN, template, 2, arg1, arg2, null, null);
+    }
+
+    public void warn(String template, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.WARN, template, 3, arg1, arg2, arg3, null);
+    }
+
+    public void error(String message) {
+        log(LogLevel.ERROR, message, 0, null, null, null, null);
+    }
+
+    public void error(String template, Object arg1) {
+        log(LogLevel.ERROR, template, 1, arg1, null, null, null);
+    }
+
+    public void error(String template, Object arg1, Object arg2) {
+        log(LogLevel.ERROR, template, 2, arg1, arg2, null, null);
+    }
+
+    public void error(String template, Object arg1, Object arg2, Object arg3) {
+        log(LogLevel.ERROR, template, 3, arg1, arg2, arg3, null);
+    }
+
+    /**
+     * Registra um erro com o stack trace da exceção.
+     */
+    public void error(String message, Throwable throwable) {
+        log(LogLevel.ERROR, message, 0, null, null, null, throwable);
+    }
+
+    private void log(LogLevel level, String template, int argCount,
+                     Object arg1, Object arg2, Object arg3, Throwable throwable) {
+        // O teste de nível vem antes de qualquer trabalho: mensagens desabilitadas custam uma comparação.
+        if (WRITER.isEnabled(level)) {
+            WRITER.publish(level, name, template, argCount, arg1, arg2, arg3, throwable);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.projeto2.middleware.logging;
+
+/**
+ * O que fazer quando o buffer circular do log está cheio.
+ */
+public enum OverflowPolicy {
+    /**
+     * Descarta a mensagem (e a contabiliza), sem nunca atrasar a thread da requisição.
+     */
+    DROP,
+    /**
+     * Espera até que a thread de escrita libere espaço, sem perder mensagens.
+     */
+    BLOCK
+}
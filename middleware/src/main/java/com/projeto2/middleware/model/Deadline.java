@@ -0,0 +1,105 @@
+package com.projeto2.middleware.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prazo de uma requisição, contado a partir do momento em que ela chegou ao transporte
+ * (antes de esperar na fila de threads), e não de quando começou a ser processada.
+ *
+ * O prazo vem do cliente (cabeçalho X-Request-Timeout no TCP, campo "timeout=" na linha do
+ * protocolo de texto) e/ou do padrão da rota (@RequestMapping(timeoutMillis = ...)); vale o menor.
+ * Durante o processamento, controllers e interceptors consultam o tempo restante com
+ * Deadline.current().remainingMillis() e podem desistir de trabalho que ninguém mais espera.
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long receivedAtNanos;
+    // Long.MAX_VALUE indica requisição sem prazo.
+    private final long timeoutNanos;
+
+    private Deadline(long receivedAtNanos, long timeoutNanos) {
+        this.receivedAtNanos = receivedAtNanos;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    /**
+     * @param receivedAtNanos Momento da chegada, em System.nanoTime().
+     * @param timeoutMillis O prazo em milissegundos; zero ou negativo indica sem prazo.
+     */
+    public static Deadline startingAt(long receivedAtNanos, long timeoutMillis) {
+        return new Deadline(receivedAtNanos, toNanos(timeoutMillis));
+    }
+
+    /**
+     * Uma requisição sem prazo que chegou agora.
+     */
+    public static Deadline none() {
+        return new Deadline(System.nanoTime(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Combina este prazo com outro contado a partir da mesma chegada (ex: o padrão da rota); vale o menor.
+     */
+    public Deadline withTimeout(long timeoutMillis) {
+        long other = toNanos(timeoutMillis);
+        return other < timeoutNanos ? new Deadline(receivedAtNanos, other) : this;
+    }
+
+    public boolean hasTimeout() {
+        return timeoutNanos != Long.MAX_VALUE;
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * O tempo restante em nanossegundos (negativo se já expirou; Long.MAX_VALUE se não há prazo).
+     */
+    public long remainingNanos() {
+        if (!hasTimeout()) {
+            return Long.MAX_VALUE;
+        }
+        return timeoutNanos - (System.nanoTime() - receivedAtNanos);
+    }
+
+    /**
+     * O tempo restante em milissegundos (negativo se já expirou; Long.MAX_VALUE se não há prazo).
+     */
+    public long remainingMillis() {
+        long remaining = remainingNanos();
+        return remaining == Long.MAX_VALUE ? remaining : TimeUnit.NANOSECONDS.toMillis(remaining);
+    }
+
+    /**
+     * O prazo da requisição sendo processada nesta thread, ou um prazo vazio fora de uma requisição.
+     */
+    public static Deadline current() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline : none();
+    }
+
+    /**
+     * Associa o prazo à thread atual. Chamado pelo MiddlewareFramework no início do processamento.
+     */
+    public static void bind(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    /**
+     * Remove o prazo da thread atual. Chamado pelo MiddlewareFramework ao fim do processamento.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    private static long toNanos(long timeoutMillis) {
+        return timeoutMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return hasTimeout() ? "Deadline[restante=" + remainingMillis() + "ms]" : "Deadline[sem prazo]";
+    }
+}
@@ -1,7 +1,11 @@
 package com.projeto2.middleware.model;
 
 import com.projeto2.middleware.enums.HttpMethod;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Representa uma requisição de forma genérica, abstraindo os detalhes do protocolo (TCP ou UDP).
@@ -10,9 +14,54 @@ import java.util.Map;
  * @param method O método HTTP da requisição (GET, POST, etc.).
  * @param path O caminho da rota (ex: "/soma").
  * @param params Um mapa com os parâmetros da requisição (ex: {"a"="5", "b"="10"}).
+ * @param body O corpo da requisição, ainda não lido. É consumido em streaming pelo middleware
+ *             (parâmetros de formulário) ou entregue diretamente ao controller via @Body.
+ * @param deadline O prazo da requisição, contado a partir da chegada ao transporte.
  */
 public record MiddlewareRequest(
         HttpMethod method,
         String path,
-        Map<String, String> params
-) {}
\ No newline at end of file
+        Map<String, String> params,
+        InputStream body,
+        Deadline deadline
+) {
+    /**
+     * Cria uma requisição sem prazo.
+     */
+    public MiddlewareRequest(HttpMethod method, String path, Map<String, String> params, InputStream body) {
+        this(method, path, params, body, Deadline.none());
+    }
+
+    /**
+     * Cria uma requisição sem corpo e sem prazo (ex: datagramas UDP, onde tudo vem na linha da requisição).
+     */
+    public MiddlewareRequest(HttpMethod method, String path, Map<String, String> params) {
+        this(method, path, params, InputStream.nullInputStream());
+    }
+
+    /**
+     * A chave da rota usada no InvokerRegistry (ex: "GET:/soma").
+     */
+    public String routeKey() {
+        return method.name() + ":" + path;
+    }
+
+    /**
+     * Os parâmetros em forma canônica, ordenados pelo nome (ex: "a=5&b=10"), de modo que
+     * requisições equivalentes produzam a mesma String independente da ordem na URL.
+     * Nomes e valores são codificados de novo em URL, para que um valor contendo "&" ou "="
+     * (ex: a="1&b=2") não produza a mesma String que outro conjunto de parâmetros.
+     */
+    public String canonicalParams() {
+        StringBuilder canonical = new StringBuilder();
+        for (Map.Entry<String, String> param : new TreeMap<>(params).entrySet()) {
+            if (!canonical.isEmpty()) {
+                canonical.append('&');
+            }
+            canonical.append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+        }
+        return canonical.toString();
+    }
+}
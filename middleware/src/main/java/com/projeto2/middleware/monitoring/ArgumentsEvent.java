@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.Arguments")
+@Label("Argument Conversion")
+@Description("Conversao dos parametros da requisicao para os argumentos do metodo")
+final class ArgumentsEvent extends PhaseEvent {
+}
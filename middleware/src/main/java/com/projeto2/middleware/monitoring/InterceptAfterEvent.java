@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.InterceptAfter")
+@Label("Intercept After")
+@Description("Execucao dos interceptors @InterceptAfter")
+final class InterceptAfterEvent extends PhaseEvent {
+}
@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.InterceptBefore")
+@Label("Intercept Before")
+@Description("Execucao dos interceptors @InterceptBefore")
+final class InterceptBeforeEvent extends PhaseEvent {
+}
@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.Invoke")
+@Label("Invoke")
+@Description("Invocacao do metodo do controller")
+final class InvokeEvent extends PhaseEvent {
+}
@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.Lifecycle")
+@Label("Lifecycle")
+@Description("Obtencao da instancia do controller no LifecycleManager")
+final class LifecycleEvent extends PhaseEvent {
+}
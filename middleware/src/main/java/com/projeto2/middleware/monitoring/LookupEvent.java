@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.Lookup")
+@Label("Lookup")
+@Description("Busca do Invoker no InvokerRegistry")
+final class LookupEvent extends PhaseEvent {
+}
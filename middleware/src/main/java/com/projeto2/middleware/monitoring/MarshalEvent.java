@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.Marshal")
+@Label("Marshal")
+@Description("Conversao da resposta para o formato do transporte")
+final class MarshalEvent extends PhaseEvent {
+}
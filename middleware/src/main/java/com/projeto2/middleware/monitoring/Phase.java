@@ -0,0 +1,28 @@
+package com.projeto2.middleware.monitoring;
+
+import java.util.function.Supplier;
+
+/**
+ * As fases do processamento de uma requisição, na ordem em que normalmente acontecem.
+ * Cada fase tem seu próprio tipo de evento JFR.
+ */
+public enum Phase {
+    UNMARSHAL(UnmarshalEvent::new),
+    LOOKUP(LookupEvent::new),
+    INTERCEPT_BEFORE(InterceptBeforeEvent::new),
+    ARGUMENTS(ArgumentsEvent::new),
+    LIFECYCLE(LifecycleEvent::new),
+    INVOKE(InvokeEvent::new),
+    INTERCEPT_AFTER(InterceptAfterEvent::new),
+    MARSHAL(MarshalEvent::new);
+
+    private final Supplier<PhaseEvent> eventFactory;
+
+    Phase(Supplier<PhaseEvent> eventFactory) {
+        this.eventFactory = eventFactory;
+    }
+
+    PhaseEvent newEvent() {
+        return eventFactory.get();
+    }
+}
@@ -0,0 +1,20 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base dos eventos JFR de cada fase do processamento de uma requisição.
+ * A duração do evento é a duração da fase; rota e status são preenchidos ao fim da requisição.
+ */
+@Category({"Middleware", "Request"})
+@StackTrace(false)
+abstract class PhaseEvent extends Event {
+    @Label("Route")
+    String route;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,151 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede o tempo de cada fase de uma requisição e o publica como eventos JFR e/ou como trace amostrado.
+ *
+ * O transporte abre o timer antes do unmarshal (begin) e o fecha depois do marshal (finish);
+ * o MiddlewareFramework, que roda na mesma thread, o recupera com current() e marca as fases intermediárias.
+ * Se não há gravação JFR ativa e a requisição não foi amostrada, begin() devolve um timer inativo
+ * cujos métodos não fazem nada: o custo fica em uma leitura volátil e um ThreadLocal.
+ */
+public class RequestTimer {
+    private static final RequestTimer DISABLED = new RequestTimer(false, null);
+    private static final ThreadLocal<RequestTimer> CURRENT = new ThreadLocal<>();
+
+    private static volatile boolean jfrRecording;
+    private static volatile TraceBuffer traceBuffer;
+
+    static {
+        // Acompanha o início e o fim das gravações JFR sem inicializar o Flight Recorder por conta própria.
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                jfrRecording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                        .anyMatch(r -> r.getState() == RecordingState.RUNNING);
+            }
+        });
+        if (FlightRecorder.isInitialized()) {
+            jfrRecording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                    .anyMatch(r -> r.getState() == RecordingState.RUNNING);
+        }
+    }
+
+    private final boolean jfr;
+    private final TraceBuffer sampledInto;
+    private final List<PhaseEvent> events;
+    private final long[] phaseNanos;
+    private Phase current;
+    private long phaseStart;
+    private String route = "";
+    private boolean finished;
+
+    private RequestTimer(boolean jfr, TraceBuffer sampledInto) {
+        this.jfr = jfr;
+        this.sampledInto = sampledInto;
+        this.events = jfr ? new ArrayList<>(Phase.values().length) : null;
+        this.phaseNanos = sampledInto != null ? new long[Phase.values().length] : null;
+    }
+
+    /**
+     * Define (ou desliga, com null) o buffer de traces amostrados.
+     */
+    public static void setTraceBuffer(TraceBuffer buffer) {
+        traceBuffer = buffer;
+    }
+
+    public static TraceBuffer getTraceBuffer() {
+        return traceBuffer;
+    }
+
+    /**
+     * Abre o timer da requisição atual, já na fase UNMARSHAL. Chamado pelo transporte.
+     */
+    public static RequestTimer begin() {
+        TraceBuffer buffer = traceBuffer;
+        TraceBuffer sampledInto = buffer != null && buffer.shouldSample() ? buffer : null;
+        if (!jfrRecording && sampledInto == null) {
+            return DISABLED;
+        }
+        RequestTimer timer = new RequestTimer(jfrRecording, sampledInto);
+        CURRENT.set(timer);
+        timer.phase(Phase.UNMARSHAL);
+        return timer;
+    }
+
+    /**
+     * O timer aberto pelo transporte nesta thread, ou um timer inativo.
+     */
+    public static RequestTimer current() {
+        RequestTimer timer = CURRENT.get();
+        return timer != null ? timer : DISABLED;
+    }
+
+    public void route(String route) {
+        if (this != DISABLED) {
+            this.route = route;
+        }
+    }
+
+    /**
+     * Encerra a fase atual e inicia a próxima. Uma fase pode se repetir (ex: o unmarshal do corpo
+     * acontece depois do lookup); os tempos são somados.
+     */
+    public void phase(Phase next) {
+        if (this == DISABLED || finished) {
+            return;
+        }
+        long now = endCurrent();
+        current = next;
+        phaseStart = now;
+        if (jfr) {
+            PhaseEvent event = next.newEvent();
+            event.begin();
+            events.add(event);
+        }
+    }
+
+    /**
+     * Encerra a última fase e publica as medições com o status final. Chamado pelo transporte.
+     */
+    public void finish(int status) {
+        if (this == DISABLED || finished) {
+            return;
+        }
+        finished = true;
+        endCurrent();
+        CURRENT.remove();
+        if (jfr) {
+            for (PhaseEvent event : events) {
+                if (event.shouldCommit()) {
+                    event.route = route;
+                    event.status = status;
+                    event.commit();
+                }
+            }
+        }
+        if (sampledInto != null) {
+            sampledInto.record(new RequestTrace(System.currentTimeMillis(), route, status, phaseNanos));
+        }
+    }
+
+    private long endCurrent() {
+        long now = System.nanoTime();
+        if (current != null) {
+            if (jfr) {
+                events.get(events.size() - 1).end();
+            }
+            if (phaseNanos != null) {
+                phaseNanos[current.ordinal()] += now - phaseStart;
+            }
+        }
+        return now;
+    }
+}
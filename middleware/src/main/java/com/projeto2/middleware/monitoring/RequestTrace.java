@@ -0,0 +1,20 @@
+package com.projeto2.middleware.monitoring;
+
+/**
+ * Uma requisição amostrada: rota, status e o tempo gasto em cada fase.
+ *
+ * @param timestampMillis Momento em que a requisição terminou (epoch, em ms).
+ * @param route A chave da rota (ex: "GET:/soma").
+ * @param status O código de status da resposta.
+ * @param phaseNanos Tempo em cada fase, indexado por Phase.ordinal().
+ */
+public record RequestTrace(long timestampMillis, String route, int status, long[] phaseNanos) {
+
+    public long totalNanos() {
+        long total = 0;
+        for (long nanos : phaseNanos) {
+            total += nanos;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,78 @@
+package com.projeto2.middleware.monitoring;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular em memória com as últimas requisições amostradas.
+ * Apenas 1 em cada sampleEvery requisições é medida, e as mais antigas são sobrescritas,
+ * então o custo e a memória ficam limitados mesmo sob carga de produção.
+ */
+public class TraceBuffer {
+    private final int sampleEvery;
+    private final AtomicReferenceArray<RequestTrace> traces;
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * @param sampleEvery Amostra, em média, uma a cada sampleEvery requisições (1 = todas).
+     * @param capacity Quantas requisições amostradas manter.
+     */
+    public TraceBuffer(int sampleEvery, int capacity) {
+        if (sampleEvery < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Amostragem e capacidade do buffer de traces devem ser positivas");
+        }
+        this.sampleEvery = sampleEvery;
+        this.traces = new AtomicReferenceArray<>(capacity);
+    }
+
+    boolean shouldSample() {
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    void record(RequestTrace trace) {
+        long index = written.getAndIncrement();
+        traces.set((int) (index % traces.length()), trace);
+    }
+
+    /**
+     * As requisições amostradas, da mais recente para a mais antiga.
+     */
+    public List<RequestTrace> snapshot() {
+        long end = written.get();
+        long start = Math.max(0, end - traces.length());
+        List<RequestTrace> result = new ArrayList<>();
+        for (long i = end - 1; i >= start; i--) {
+            RequestTrace trace = traces.get((int) (i % traces.length()));
+            if (trace != null) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Texto com uma linha por requisição amostrada, com o tempo de cada fase em microssegundos.
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append("# amostragem 1/").append(sampleEvery).append(", tempos em us\n");
+        for (RequestTrace trace : snapshot()) {
+            out.append(Instant.ofEpochMilli(trace.timestampMillis()))
+                    .append(' ').append(trace.route())
+                    .append(' ').append(trace.status())
+                    .append(" total=").append(trace.totalNanos() / 1000);
+            for (Phase phase : Phase.values()) {
+                long nanos = trace.phaseNanos()[phase.ordinal()];
+                if (nanos > 0) {
+                    out.append(' ').append(phase.name().toLowerCase()).append('=').append(nanos / 1000);
+                }
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,11 @@
+package com.projeto2.middleware.monitoring;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.projeto2.middleware.Unmarshal")
+@Label("Unmarshal")
+@Description("Conversao da requisicao do transporte (e do corpo) para o modelo interno")
+final class UnmarshalEvent extends PhaseEvent {
+}
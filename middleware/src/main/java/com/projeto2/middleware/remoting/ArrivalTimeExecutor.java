@@ -0,0 +1,63 @@
+package com.projeto2.middleware.remoting;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor para o HttpServer que registra quando cada requisição foi entregue ao pool de threads.
+ * Assim o prazo da requisição (Deadline) conta também o tempo em que ela esperou na fila
+ * por uma thread livre, e não só a partir do início do processamento.
+ *
+ * Se o pool recusar a tarefa (fila cheia), ela roda na própria thread do HttpServer marcada como
+ * sobrecarregada: o handler deve consultar isOverloaded() e só responder 503, sem processar a requisição.
+ */
+public final class ArrivalTimeExecutor implements Executor {
+    private static final ThreadLocal<Arrival> ARRIVAL = new ThreadLocal<>();
+
+    private final Executor delegate;
+
+    public ArrivalTimeExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long receivedAt = System.nanoTime();
+        try {
+            delegate.execute(() -> run(task, new Arrival(receivedAt, false)));
+        } catch (RejectedExecutionException e) {
+            // A tarefa do HttpServer lê a linha de requisição e os cabeçalhos; com a marca de
+            // sobrecarga, o handler responde sem ler o corpo e a thread do HttpServer é liberada logo.
+            run(task, new Arrival(receivedAt, true));
+        }
+    }
+
+    private static void run(Runnable task, Arrival arrival) {
+        ARRIVAL.set(arrival);
+        try {
+            task.run();
+        } finally {
+            ARRIVAL.remove();
+        }
+    }
+
+    /**
+     * Momento (System.nanoTime()) em que a requisição desta thread chegou ao pool;
+     * o momento atual, fora de uma tarefa deste executor.
+     */
+    public static long receivedAt() {
+        Arrival arrival = ARRIVAL.get();
+        return arrival != null ? arrival.receivedAt() : System.nanoTime();
+    }
+
+    /**
+     * true se a requisição desta thread foi recusada pelo pool e deve ser respondida com 503.
+     */
+    public static boolean isOverloaded() {
+        Arrival arrival = ARRIVAL.get();
+        return arrival != null && arrival.overloaded();
+    }
+
+    private record Arrival(long receivedAt, boolean overloaded) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.projeto2.middleware.remoting;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Estratégia de espera para quem aguarda dados na memória compartilhada:
+ * primeiro gira (busy-spin) para latência mínima, depois cede a CPU e, se a espera
+ * continuar, dorme por intervalos crescentes até um teto.
+ * Não é thread-safe: cada thread que espera usa a sua instância.
+ */
+final class BackoffIdler {
+    private static final int SPIN_LIMIT = 200;
+    private static final int YIELD_LIMIT = SPIN_LIMIT + 100;
+    private static final long MIN_PARK_NANOS = 1_000;
+
+    private final long maxParkNanos;
+    private int attempts;
+
+    BackoffIdler(long maxParkNanos) {
+        this.maxParkNanos = maxParkNanos;
+    }
+
+    void idle() {
+        if (attempts < SPIN_LIMIT) {
+            Thread.onSpinWait();
+        } else if (attempts < YIELD_LIMIT) {
+            Thread.yield();
+        } else {
+            int doublings = Math.min(attempts - YIELD_LIMIT, 20);
+            LockSupport.parkNanos(Math.min(maxParkNanos, MIN_PARK_NANOS << doublings));
+        }
+        attempts++;
+    }
+
+    // Chamado quando chega trabalho, para que a próxima espera volte a começar girando.
+    void reset() {
+        attempts = 0;
+    }
+}
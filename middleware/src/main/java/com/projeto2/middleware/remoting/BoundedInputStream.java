@@ -0,0 +1,56 @@
+package com.projeto2.middleware.remoting;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream que conta os bytes lidos do corpo da requisição e interrompe a leitura
+ * assim que o limite é ultrapassado, mesmo quando o cliente não informa o Content-Length.
+ */
+class BoundedInputStream extends FilterInputStream {
+    private final long limit;
+    private long count;
+
+    BoundedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long n) {
+        count += n;
+        if (count > limit) {
+            throw new PayloadTooLargeException("Corpo da requisicao excede o limite de " + limit + " bytes");
+        }
+    }
+}
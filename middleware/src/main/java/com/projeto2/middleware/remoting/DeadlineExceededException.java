@@ -0,0 +1,13 @@
+package com.projeto2.middleware.remoting;
+
+/**
+ * Lançada quando o prazo da requisição (Deadline) expira antes de uma etapa do processamento.
+ * O framework a converte numa resposta 504.
+ */
+public class DeadlineExceededException extends RemotingException {
+    private static final long serialVersionUID = 1L;
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,109 @@
+package com.projeto2.middleware.remoting;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Lê parâmetros no formato "chave1=valor1&chave2=valor2" diretamente do corpo da requisição,
+ * em blocos, sem nunca montar o corpo inteiro numa String.
+ * Somente o par que está sendo lido fica em memória, e seu tamanho é limitado.
+ *
+ * O corpo e a query string seguem a mesma regra, a do split("=") original: o valor é o trecho
+ * entre o primeiro e o segundo "=" (ex: "a=b=c" dá a="b"), e pares sem nada após o "=" são ignorados.
+ */
+public final class FormParser {
+    private static final int CHUNK_SIZE = 4096;
+
+    private FormParser() {}
+
+    /**
+     * Consome o stream até o fim, adicionando os parâmetros encontrados ao mapa.
+     * @param in O corpo da requisição.
+     * @param params O mapa que receberá os parâmetros.
+     * @param maxParamSize Tamanho máximo, em bytes, de cada nome ou valor.
+     * @throws PayloadTooLargeException Se algum nome ou valor exceder o limite.
+     */
+    public static void parse(InputStream in, Map<String, String> params, int maxParamSize) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        ByteArrayOutputStream key = new ByteArrayOutputStream();
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        // Trecho do par sendo lido: 0 = nome, 1 = valor, 2 = depois do segundo "=" (descartado).
+        int segment = 0;
+        // Se há algo após o primeiro "=" (split("=") descarta os trechos vazios do fim).
+        boolean hasValue = false;
+
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            for (int i = 0; i < n; i++) {
+                byte b = chunk[i];
+                if (b == '&') {
+                    put(key, value, hasValue, params);
+                    key.reset();
+                    value.reset();
+                    segment = 0;
+                    hasValue = false;
+                } else if (b == '=') {
+                    segment = Math.min(segment + 1, 2);
+                } else {
+                    hasValue |= segment > 0;
+                    if (segment == 2) {
+                        continue;
+                    }
+                    ByteArrayOutputStream target = segment == 0 ? key : value;
+                    if (target.size() >= maxParamSize) {
+                        throw new PayloadTooLargeException("Parametro excede o limite de " + maxParamSize + " bytes");
+                    }
+                    target.write(b);
+                }
+            }
+        }
+        put(key, value, hasValue, params);
+    }
+
+    /**
+     * Extrai os parâmetros de uma query string já em memória (ex: "a=5&b=10").
+     * @param query A query string, sem o "?".
+     * @param params O mapa que receberá os parâmetros.
+     */
+    public static void parseQuery(String query, Map<String, String> params) {
+        if (query != null && !query.isEmpty()) {
+            for (String param : query.split("&")) {
+                String[] pair = param.split("=");
+                if (pair.length > 1) {
+                    params.put(pair[0], URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    /**
+     * Como parseQuery, mas mantém os valores como vieram, sem decodificar "%xx" nem "+".
+     * Usado pelo protocolo de texto (UDP, shm, unix), que nunca decodificou os valores.
+     * @param query A query string, sem o "?".
+     * @param params O mapa que receberá os parâmetros.
+     */
+    public static void parseRawQuery(String query, Map<String, String> params) {
+        if (query != null && !query.isEmpty()) {
+            for (String param : query.split("&")) {
+                String[] pair = param.split("=");
+                if (pair.length > 1) {
+                    params.put(pair[0], pair[1]);
+                }
+            }
+        }
+    }
+
+    // Pares sem valor (ex: "a=" ou "a") são ignorados, como no parsing da query string.
+    private static void put(ByteArrayOutputStream key, ByteArrayOutputStream value, boolean hasValue,
+                            Map<String, String> params) {
+        if (hasValue) {
+            // Decodifica o valor para lidar com espaços e caracteres especiais (ex: %20)
+            params.put(key.toString(StandardCharsets.UTF_8),
+                    URLDecoder.decode(value.toString(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -19,6 +19,12 @@ public class Invoker {
     // Uma lista com informações sobre cada parâmetro do método.
     private final List<ParameterInfo> parameters;
 
+    // Indica se algum parâmetro recebe o corpo da requisição (@Body).
+    private final boolean bodyParameter;
+
+    // Prazo padrão da rota em milissegundos (@RequestMapping(timeoutMillis)); 0 = sem prazo.
+    private final long timeoutMillis;
+
     /**
      * Construtor do Invoker.
      * @param controllerClass A classe do controller.
@@ -26,9 +32,18 @@ public class Invoker {
      * @param parameters A lista de informações dos parâmetros.
      */
     public Invoker(Class<?> controllerClass, Method method, List<ParameterInfo> parameters) {
+        this(controllerClass, method, parameters, 0);
+    }
+
+    /**
+     * @param timeoutMillis O prazo padrão da rota em milissegundos (0 = sem prazo).
+     */
+    public Invoker(Class<?> controllerClass, Method method, List<ParameterInfo> parameters, long timeoutMillis) {
         this.controllerClass = controllerClass;
         this.method = method;
         this.parameters = parameters;
+        this.bodyParameter = parameters.stream().anyMatch(ParameterInfo::body);
+        this.timeoutMillis = timeoutMillis;
     }
     // Getters para que outras partes do sistema possam acessar essas informações.
     public Class<?> getControllerClass() {
@@ -40,11 +55,21 @@ public class Invoker {
     public List<ParameterInfo> getParameters() {
         return parameters;
     }
+    public boolean hasBodyParameter() {
+        return bodyParameter;
+    }
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
     /**
      * Um 'Record' para guardar informações sobre um único parâmetro de método.
      * @param name O nome do parâmetro definido na anotação @Param (ex: "a").
      * @param type O tipo do parâmetro (ex: int.class).
+     * @param body Se o parâmetro recebe o corpo da requisição (@Body) em vez de um valor de @Param.
      */
-    public record ParameterInfo(String name, Class<?> type) {
+    public record ParameterInfo(String name, Class<?> type, boolean body) {
+        public ParameterInfo(String name, Class<?> type) {
+            this(name, type, false);
+        }
     }
 }
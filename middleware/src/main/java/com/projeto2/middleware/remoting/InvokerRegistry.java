@@ -1,5 +1,7 @@
 package com.projeto2.middleware.remoting;
 
+import com.projeto2.middleware.logging.Logger;
+
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -8,6 +10,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * respectivo Invoker.
  */
 public class InvokerRegistry {
+    private static final Logger LOG = Logger.getLogger(InvokerRegistry.class);
+
     // A instância única do Singleton.
     private static final InvokerRegistry INSTANCE = new InvokerRegistry();
 
@@ -30,7 +34,7 @@ public class InvokerRegistry {
      */
     public void registerInvoker(String routeKey, Invoker invoker) {
         registry.put(routeKey, invoker);
-        System.out.println("[InvokerRegistry] Rota registrada: " + routeKey);
+        LOG.info("Rota registrada: {}", routeKey);
     }
     /**
      * Procura e retorna um Invoker com base na chave da rota.
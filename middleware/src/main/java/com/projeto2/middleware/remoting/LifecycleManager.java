@@ -1,5 +1,7 @@
 package com.projeto2.middleware.remoting;
 
+import com.projeto2.middleware.logging.Logger;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -9,6 +11,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Nesta versão, implementei o padrão "Static Instance" (Singleton por classe).
  */
 public class LifecycleManager {
+    private static final Logger LOG = Logger.getLogger(LifecycleManager.class);
     private static final LifecycleManager INSTANCE = new LifecycleManager();
 
     // Cache para armazenar as instâncias únicas de cada controller.
@@ -29,7 +32,7 @@ public class LifecycleManager {
         // computeIfAbsent garante que a criação seja atômica e segura em ambiente multi-thread.
         return controllers.computeIfAbsent(controllerClass, clazz -> {
             try {
-                System.out.println("[LifecycleManager] Criando nova instancia para: " + clazz.getName());
+                LOG.info("Criando nova instancia para: {}", clazz.getName());
                 // Usa Reflection para criar uma nova instância da classe.
                 return clazz.getDeclaredConstructor().newInstance();
             } catch (Exception e) {
@@ -0,0 +1,121 @@
+package com.projeto2.middleware.remoting;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Buffer circular de um único produtor e um único consumidor sobre uma região de um arquivo
+ * mapeado em memória, compartilhado entre processos.
+ *
+ * Layout da região: head (long) no byte 0, tail (long) no byte 64 (linhas de cache separadas)
+ * e os dados a partir do byte 128. Cada mensagem ocupa [int tamanho][bytes], com o registro
+ * alinhado a 4 bytes para que o tamanho nunca seja partido na volta do buffer.
+ * O produtor publica com setRelease no tail; o consumidor libera espaço com setRelease no head.
+ */
+final class MappedRingBuffer {
+    static final int HEADER_SIZE = 128;
+    private static final int HEAD_OFFSET = 0;
+    private static final int TAIL_OFFSET = 64;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final int headIndex;
+    private final int tailIndex;
+    private final int dataIndex;
+    private final int capacity;
+    private final int mask;
+
+    /**
+     * @param buffer O arquivo mapeado.
+     * @param offset Início da região do buffer dentro do arquivo (múltiplo de 64).
+     * @param capacity Tamanho da área de dados, potência de 2.
+     */
+    MappedRingBuffer(MappedByteBuffer buffer, int offset, int capacity) {
+        if (Integer.bitCount(capacity) != 1 || capacity < 64) {
+            throw new IllegalArgumentException("A capacidade do buffer deve ser potencia de 2 (>= 64): " + capacity);
+        }
+        this.buffer = buffer;
+        this.headIndex = offset + HEAD_OFFSET;
+        this.tailIndex = offset + TAIL_OFFSET;
+        this.dataIndex = offset + HEADER_SIZE;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    static int regionSize(int capacity) {
+        return HEADER_SIZE + capacity;
+    }
+
+    /**
+     * Maior mensagem que cabe no buffer.
+     */
+    int maxMessageSize() {
+        return capacity - Integer.BYTES;
+    }
+
+    /**
+     * Escreve uma mensagem, se houver espaço. Deve ser chamado apenas pelo produtor.
+     * @return false se o buffer estiver cheio no momento.
+     */
+    boolean offer(byte[] message) {
+        if (message.length > maxMessageSize()) {
+            throw new IllegalArgumentException("Mensagem de " + message.length + " bytes excede a capacidade do buffer");
+        }
+        long tail = (long) LONGS.get(buffer, tailIndex);
+        long head = (long) LONGS.getAcquire(buffer, headIndex);
+        int recordSize = recordSize(message.length);
+        if (capacity - (tail - head) < recordSize) {
+            return false;
+        }
+        buffer.putInt(dataIndex + (int) (tail & mask), message.length);
+        copyIn(tail + Integer.BYTES, message);
+        LONGS.setRelease(buffer, tailIndex, tail + recordSize);
+        return true;
+    }
+
+    /**
+     * Lê a próxima mensagem. Deve ser chamado apenas pelo consumidor.
+     * @return A mensagem, ou null se o buffer estiver vazio.
+     */
+    byte[] poll() {
+        long head = (long) LONGS.get(buffer, headIndex);
+        long tail = (long) LONGS.getAcquire(buffer, tailIndex);
+        if (head == tail) {
+            return null;
+        }
+        int length = buffer.getInt(dataIndex + (int) (head & mask));
+        byte[] message = new byte[length];
+        copyOut(head + Integer.BYTES, message);
+        LONGS.setRelease(buffer, headIndex, head + recordSize(length));
+        return message;
+    }
+
+    /**
+     * Descarta mensagens pendentes (ex: respostas deixadas por um cliente anterior). Só o consumidor pode chamar.
+     */
+    void skipAll() {
+        LONGS.setRelease(buffer, headIndex, (long) LONGS.getAcquire(buffer, tailIndex));
+    }
+
+    private int recordSize(int length) {
+        return (Integer.BYTES + length + 3) & ~3;
+    }
+
+    // Copia em até dois trechos, quando a mensagem atravessa o fim da área de dados.
+    private void copyIn(long position, byte[] source) {
+        int start = (int) (position & mask);
+        int first = Math.min(source.length, capacity - start);
+        buffer.put(dataIndex + start, source, 0, first);
+        buffer.put(dataIndex, source, first, source.length - first);
+    }
+
+    private void copyOut(long position, byte[] target) {
+        int start = (int) (position & mask);
+        int first = Math.min(target.length, capacity - start);
+        buffer.get(dataIndex + start, target, 0, first);
+        buffer.get(dataIndex, target, first, target.length - first);
+    }
+}
@@ -0,0 +1,13 @@
+package com.projeto2.middleware.remoting;
+
+/**
+ * Lançada quando o corpo da requisição ou um de seus parâmetros excede os limites
+ * configurados em RequestLimits. O framework a converte numa resposta 413.
+ */
+public class PayloadTooLargeException extends RemotingException {
+    private static final long serialVersionUID = 1L;
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
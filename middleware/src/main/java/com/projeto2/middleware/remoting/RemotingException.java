@@ -1,7 +1,13 @@
 package com.projeto2.middleware.remoting;
 
 public class RemotingException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public RemotingException(String message) {
+        super(message);
+    }
+
     public RemotingException(String message, Throwable cause) {
         super(message, cause);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.projeto2.middleware.remoting;
+
+/**
+ * Limites aplicados ao corpo das requisições, verificados enquanto o corpo é lido
+ * (e não depois de carregá-lo inteiro na memória).
+ *
+ * @param maxBodySize Tamanho máximo do corpo, em bytes.
+ * @param maxParamSize Tamanho máximo de cada nome ou valor de parâmetro de formulário, em bytes.
+ */
+public record RequestLimits(long maxBodySize, int maxParamSize) {
+    // 10 MB de corpo e 64 KB por parâmetro.
+    public static final RequestLimits DEFAULT = new RequestLimits(10L * 1024 * 1024, 64 * 1024);
+
+    public RequestLimits {
+        if (maxBodySize <= 0 || maxParamSize <= 0) {
+            throw new IllegalArgumentException("Os limites da requisicao devem ser positivos");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.projeto2.middleware.remoting;
+
+import com.projeto2.middleware.model.MiddlewareResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cliente do SharedMemoryTransport. Reserva um slot livre no diretório do servidor e envia
+ * requisições no formato "GET /soma?a=5&b=10", aguardando a resposta com spin seguido de park.
+ * Uma instância atende uma requisição por vez (as chamadas a send são serializadas).
+ */
+public class SharedMemoryClient implements Closeable {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final SharedMemorySlot slot;
+    private final BackoffIdler idler = new BackoffIdler(MAX_PARK_NANOS);
+    // Começa num valor arbitrário para não confundir respostas pendentes de um cliente anterior no mesmo slot.
+    private long nextRequestId = System.nanoTime();
+
+    /**
+     * @param directory O diretório usado pelo servidor (ex: SharedMemoryTransport.defaultDirectory(8080)).
+     * @throws RemotingException Se todos os slots estiverem ocupados ou se o servidor não terminar de inicializá-los.
+     */
+    public SharedMemoryClient(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().startsWith(SharedMemoryTransport.SLOT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            SharedMemorySlot candidate = SharedMemorySlot.claim(file);
+            if (candidate != null) {
+                // Respostas deixadas por um cliente anterior que encerrou (ou caiu) no meio de uma chamada.
+                candidate.responses().skipAll();
+                this.slot = candidate;
+                return;
+            }
+        }
+        throw new RemotingException("Nenhum slot livre em " + directory);
+    }
+
+    public MiddlewareResponse send(String requestLine) {
+        return send(requestLine, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Envia uma requisição e aguarda a resposta.
+     * @param requestLine A requisição, ex: "GET /soma?a=5&b=10".
+     * @param timeout Tempo máximo de espera pela resposta.
+     * @throws RemotingException Se a resposta não chegar a tempo.
+     */
+    public synchronized MiddlewareResponse send(String requestLine, Duration timeout) {
+        long requestId = ++nextRequestId;
+        byte[] line = requestLine.getBytes(StandardCharsets.UTF_8);
+        byte[] message = ByteBuffer.allocate(2 * Long.BYTES + line.length)
+                .putLong(requestId)
+                .putLong(SharedMemoryTransport.epochMicros())
+                .put(line)
+                .array();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        idler.reset();
+        while (!slot.requests().offer(message)) {
+            waitOrFail(deadline, requestLine);
+        }
+        idler.reset();
+        while (true) {
+            byte[] encoded = slot.responses().poll();
+            if (encoded == null) {
+                waitOrFail(deadline, requestLine);
+                continue;
+            }
+            ByteBuffer response = ByteBuffer.wrap(encoded);
+            // Respostas de chamadas anteriores que expiraram são descartadas.
+            if (response.getLong() != requestId) {
+                continue;
+            }
+            int status = response.getInt();
+            return new MiddlewareResponse(status,
+                    new String(encoded, response.position(), response.remaining(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void waitOrFail(long deadline, String requestLine) {
+        if (System.nanoTime() - deadline > 0) {
+            throw new RemotingException("Tempo esgotado aguardando resposta para: " + requestLine);
+        }
+        idler.idle();
+    }
+
+    /**
+     * Libera o slot para outro cliente. Se o processo terminar sem chamar close(),
+     * o slot é retomado por um próximo cliente.
+     */
+    @Override
+    public void close() {
+        slot.release();
+    }
+}
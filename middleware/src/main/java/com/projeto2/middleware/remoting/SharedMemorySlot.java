@@ -0,0 +1,135 @@
+package com.projeto2.middleware.remoting;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um arquivo mapeado em memória que liga um cliente ao servidor: um buffer circular de
+ * requisições (cliente -> servidor) e outro de respostas (servidor -> cliente).
+ *
+ * Layout: [long dono][int capacidade] no cabeçalho de 64 bytes, seguido das duas regiões
+ * de MappedRingBuffer. O campo "dono" guarda o PID do processo cliente (0 = livre) e é disputado
+ * por CAS para que cada slot tenha um único cliente (e, portanto, um único produtor de requisições).
+ * Um slot cujo dono terminou sem chamar close() (ex: processo que caiu) é retomado pelo próximo cliente.
+ * Por usar PIDs, clientes e servidor precisam enxergar os mesmos processos (mesmo namespace de PID).
+ */
+final class SharedMemorySlot {
+    private static final int HEADER_SIZE = 64;
+    private static final int OWNER_INDEX = 0;
+    private static final int CAPACITY_INDEX = 8;
+    private static final long OPEN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long MAX_OPEN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final MappedByteBuffer buffer;
+    private final MappedRingBuffer requests;
+    private final MappedRingBuffer responses;
+
+    private SharedMemorySlot(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.requests = new MappedRingBuffer(buffer, HEADER_SIZE, capacity);
+        this.responses = new MappedRingBuffer(buffer, HEADER_SIZE + MappedRingBuffer.regionSize(capacity), capacity);
+    }
+
+    /**
+     * Cria (ou recria, zerado) o arquivo do slot. Usado pelo servidor.
+     */
+    static SharedMemorySlot create(Path file, int capacity) throws IOException {
+        Files.deleteIfExists(file);
+        int size = HEADER_SIZE + 2 * MappedRingBuffer.regionSize(capacity);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            SharedMemorySlot slot = new SharedMemorySlot(buffer, capacity);
+            INTS.setRelease(buffer, CAPACITY_INDEX, capacity);
+            return slot;
+        }
+    }
+
+    /**
+     * Abre um slot criado pelo servidor e tenta reservá-lo para este processo. Usado pelo cliente.
+     * Enquanto o slot é disputado só o cabeçalho fica mapeado; as regiões dos buffers são mapeadas
+     * depois da reserva. Como um MappedByteBuffer só é desmapeado quando é coletado, isso evita que
+     * cada candidato ocupado deixe os dois anéis mapeados até o próximo GC.
+     * @return O slot reservado, ou null se outro cliente vivo já o detém.
+     * @throws RemotingException Se o servidor não terminar de inicializar o arquivo dentro do prazo.
+     */
+    static SharedMemorySlot claim(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long deadline = System.nanoTime() + OPEN_TIMEOUT_NANOS;
+            // Mapear além do fim estenderia o arquivo: espera o servidor dimensioná-lo e publicar a capacidade.
+            awaitSize(channel, file, HEADER_SIZE, deadline);
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            int capacity = awaitCapacity(header, file, deadline);
+            int size = HEADER_SIZE + 2 * MappedRingBuffer.regionSize(capacity);
+            awaitSize(channel, file, size, deadline);
+
+            if (!tryClaim(header)) {
+                return null;
+            }
+            return new SharedMemorySlot(channel.map(FileChannel.MapMode.READ_WRITE, 0, size), capacity);
+        }
+    }
+
+    private static void awaitSize(FileChannel channel, Path file, long size, long deadline) throws IOException {
+        BackoffIdler idler = new BackoffIdler(MAX_OPEN_PARK_NANOS);
+        while (channel.size() < size) {
+            checkOpenDeadline(file, deadline);
+            idler.idle();
+        }
+    }
+
+    private static int awaitCapacity(MappedByteBuffer header, Path file, long deadline) {
+        BackoffIdler idler = new BackoffIdler(MAX_OPEN_PARK_NANOS);
+        int capacity;
+        while ((capacity = (int) INTS.getAcquire(header, CAPACITY_INDEX)) <= 0) {
+            checkOpenDeadline(file, deadline);
+            idler.idle();
+        }
+        return capacity;
+    }
+
+    private static void checkOpenDeadline(Path file, long deadline) {
+        if (System.nanoTime() - deadline > 0) {
+            throw new RemotingException("Slot " + file + " nao foi inicializado pelo servidor");
+        }
+    }
+
+    /**
+     * Reserva o slot para este processo, se estiver livre ou se o dono anterior já terminou.
+     */
+    private static boolean tryClaim(MappedByteBuffer header) {
+        long owner = (long) LONGS.getAcquire(header, OWNER_INDEX);
+        if (owner != 0 && isAlive(owner)) {
+            return false;
+        }
+        // O CAS a partir do dono observado garante que só um cliente retome um slot abandonado.
+        return LONGS.compareAndSet(header, OWNER_INDEX, owner, ProcessHandle.current().pid());
+    }
+
+    void release() {
+        LONGS.setRelease(buffer, OWNER_INDEX, 0L);
+    }
+
+    private static boolean isAlive(long pid) {
+        return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    MappedRingBuffer requests() {
+        return requests;
+    }
+
+    MappedRingBuffer responses() {
+        return responses;
+    }
+}
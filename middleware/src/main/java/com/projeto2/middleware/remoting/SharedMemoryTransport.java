@@ -0,0 +1,135 @@
+package com.projeto2.middleware.remoting;
+
+import com.projeto2.middleware.logging.Logger;
+import com.projeto2.middleware.model.MiddlewareRequest;
+import com.projeto2.middleware.model.MiddlewareResponse;
+import com.projeto2.middleware.monitoring.Phase;
+import com.projeto2.middleware.monitoring.RequestTimer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Implementação da camada de transporte por memória compartilhada, para clientes no mesmo host.
+ * Requisições e respostas trafegam por arquivos mapeados em memória (FileChannel.map), sem passar
+ * pela pilha TCP/UDP do kernel: cada cliente reserva um slot com um par de buffers circulares
+ * de produtor único/consumidor único.
+ *
+ * As requisições usam a mesma convenção de texto do UDP ("GET /soma?a=5&b=10"), precedida do id da
+ * requisição e do momento do envio: [long id][long enviadaEm (µs desde a época)][linha]. O prazo
+ * da requisição é contado a partir do envio, incluindo o tempo em que ela esperou no buffer.
+ * Clientes devem usar SharedMemoryClient apontando para o mesmo diretório.
+ */
+public class SharedMemoryTransport implements TransportStrategy {
+    private static final Logger LOG = Logger.getLogger(SharedMemoryTransport.class);
+
+    public static final int DEFAULT_SLOTS = 8;
+    public static final int DEFAULT_RING_CAPACITY = 64 * 1024;
+    static final String SLOT_PREFIX = "slot-";
+    static final String SLOT_SUFFIX = ".ipc";
+
+    // Com o slot ocioso, a thread dorme no máximo isto entre verificações.
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path directory;
+    private final int slots;
+    private final int ringCapacity;
+
+    public SharedMemoryTransport(Path directory) {
+        this(directory, DEFAULT_SLOTS, DEFAULT_RING_CAPACITY);
+    }
+
+    /**
+     * @param directory Diretório onde os arquivos dos slots são criados (de preferência em tmpfs, ex: /dev/shm).
+     * @param slots Número máximo de clientes simultâneos.
+     * @param ringCapacity Capacidade de cada buffer circular, em bytes (potência de 2).
+     */
+    public SharedMemoryTransport(Path directory, int slots, int ringCapacity) {
+        this.directory = directory;
+        this.slots = slots;
+        this.ringCapacity = ringCapacity;
+    }
+
+    /**
+     * Diretório padrão associado a uma "porta", para que servidor e clientes o encontrem.
+     */
+    public static Path defaultDirectory(int port) {
+        return Path.of(System.getProperty("java.io.tmpdir"), "middleware-shm-" + port);
+    }
+
+    @Override
+    public void start(Function<MiddlewareRequest, MiddlewareResponse> handler) throws IOException {
+        Files.createDirectories(directory);
+        for (int i = 0; i < slots; i++) {
+            SharedMemorySlot slot = SharedMemorySlot.create(directory.resolve(SLOT_PREFIX + i + SLOT_SUFFIX), ringCapacity);
+            // Uma thread por slot: ela é a única consumidora das requisições e a única produtora das respostas.
+            Thread worker = new Thread(() -> serve(slot, handler), "shm-slot-" + i);
+            worker.start();
+        }
+        LOG.info("Servidor de memoria compartilhada iniciado em {} com {} slots", directory, slots);
+    }
+
+    /**
+     * O momento atual em microssegundos desde a época, comparável entre processos do mesmo host.
+     */
+    static long epochMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    private void serve(SharedMemorySlot slot, Function<MiddlewareRequest, MiddlewareResponse> handler) {
+        BackoffIdler idler = new BackoffIdler(MAX_IDLE_PARK_NANOS);
+        while (true) {
+            byte[] message = slot.requests().poll();
+            if (message == null) {
+                idler.idle();
+                continue;
+            }
+            idler.reset();
+
+            RequestTimer timer = RequestTimer.begin();
+            ByteBuffer request = ByteBuffer.wrap(message);
+            long requestId = request.getLong();
+            // O relógio do sistema é o mesmo para todos os processos do host; ajustes dele
+            // (ex: NTP) podem distorcer esta medida, por isso uma espera negativa vira zero.
+            long waitedMicros = Math.max(0, epochMicros() - request.getLong());
+            long receivedAt = System.nanoTime() - TimeUnit.MICROSECONDS.toNanos(waitedMicros);
+            MiddlewareResponse response;
+            try {
+                // 1. Unmarshal do Transporte: a linha de texto vira um MiddlewareRequest.
+                String line = new String(message, request.position(), request.remaining(), StandardCharsets.UTF_8);
+                // 2. Executa a Lógica Principal.
+                response = handler.apply(TextProtocol.parseRequest(line, receivedAt));
+            } catch (Exception e) {
+                response = new MiddlewareResponse(400, "Requisicao invalida: " + e.getMessage());
+            }
+
+            // 3. Marshal do Transporte: [id][status][corpo] no buffer de respostas.
+            timer.phase(Phase.MARSHAL);
+            byte[] encoded = encodeResponse(requestId, response);
+            if (encoded.length > slot.responses().maxMessageSize()) {
+                encoded = encodeResponse(requestId, new MiddlewareResponse(500, "Resposta excede a capacidade do buffer"));
+            }
+            timer.finish(response.statusCode());
+            while (!slot.responses().offer(encoded)) {
+                idler.idle(); // Cliente ainda não leu as respostas anteriores.
+            }
+            idler.reset();
+        }
+    }
+
+    private byte[] encodeResponse(long requestId, MiddlewareResponse response) {
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Long.BYTES + Integer.BYTES + body.length)
+                .putLong(requestId)
+                .putInt(response.statusCode())
+                .put(body)
+                .array();
+    }
+}
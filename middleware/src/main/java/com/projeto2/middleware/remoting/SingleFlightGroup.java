@@ -0,0 +1,84 @@
+package com.projeto2.middleware.remoting;
+
+import com.projeto2.middleware.model.Deadline;
+import com.projeto2.middleware.model.MiddlewareResponse;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Agrupa invocações concorrentes com a mesma chave numa única execução ("single flight").
+ * A primeira thread (líder) executa; as que chegam enquanto ela não termina (seguidoras)
+ * esperam e recebem a mesma resposta, ou a mesma exceção. Cada seguidora espera no máximo o
+ * tempo restante do seu próprio prazo.
+ */
+public class SingleFlightGroup {
+    // Invocações em andamento, por chave (ex: "GET:/soma?a=5&b=10").
+    private final ConcurrentHashMap<String, CompletableFuture<MiddlewareResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Executa a chamada, ou aguarda a execução idêntica que já estiver em andamento.
+     * Se a líder falhar apenas porque o prazo dela expirou, as seguidoras que ainda têm tempo
+     * não herdam o 504: tentam de novo e uma delas assume como nova líder.
+     * @param key A chave canônica da invocação (rota + parâmetros ordenados).
+     * @param deadline O prazo de quem chama; limita a espera de uma seguidora.
+     * @param call A invocação propriamente dita.
+     * @return A resposta da execução líder.
+     * @throws DeadlineExceededException Se o prazo expirar antes de a líder terminar.
+     */
+    public MiddlewareResponse execute(String key, Deadline deadline, Callable<MiddlewareResponse> call) throws Exception {
+        while (true) {
+            CompletableFuture<MiddlewareResponse> leader = new CompletableFuture<>();
+            CompletableFuture<MiddlewareResponse> existing = inFlight.putIfAbsent(key, leader);
+            if (existing == null) {
+                return lead(key, leader, call);
+            }
+            try {
+                return deadline.hasTimeout()
+                        ? existing.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS)
+                        : existing.get();
+            } catch (TimeoutException e) {
+                throw new DeadlineExceededException("Prazo da requisicao expirado aguardando invocacao em andamento");
+            } catch (ExecutionException e) {
+                if (isDeadlineFailure(e.getCause()) && !deadline.isExpired()) {
+                    continue; // O prazo que expirou foi o da líder, não o desta requisição.
+                }
+                // Repassa a exceção original, para que seja tratada como se esta thread tivesse invocado.
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+    }
+
+    private MiddlewareResponse lead(String key, CompletableFuture<MiddlewareResponse> leader,
+                                    Callable<MiddlewareResponse> call) throws Exception {
+        try {
+            MiddlewareResponse response = call.call();
+            leader.complete(response);
+            return response;
+        } catch (Exception e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Requisições que chegarem daqui em diante disparam uma nova execução.
+            inFlight.remove(key, leader);
+        }
+    }
+
+    // Seguidoras bloqueadas à espera da invocação em andamento com esta chave (usado pelos testes).
+    int waitingFollowers(String key) {
+        CompletableFuture<MiddlewareResponse> leader = inFlight.get(key);
+        return leader != null ? leader.getNumberOfDependents() : 0;
+    }
+
+    // O prazo pode expirar numa verificação do framework ou dentro do controller (via Deadline.current()).
+    private static boolean isDeadlineFailure(Throwable failure) {
+        return failure instanceof DeadlineExceededException
+                || failure instanceof InvocationTargetException invocation
+                && invocation.getTargetException() instanceof DeadlineExceededException;
+    }
+}
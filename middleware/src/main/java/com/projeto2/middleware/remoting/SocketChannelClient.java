@@ -0,0 +1,87 @@
+package com.projeto2.middleware.remoting;
+
+import com.projeto2.middleware.model.MiddlewareResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cliente do SocketChannelTransport. Mantém uma conexão persistente (socket Unix ou TCP)
+ * e envia uma requisição por vez no formato "GET /soma?a=5&b=10".
+ */
+public class SocketChannelClient implements Closeable {
+    private final SocketChannel channel;
+    private final ByteBuffer input = ByteBuffer.allocate(SocketChannelTransport.MAX_LINE_SIZE);
+
+    public SocketChannelClient(SocketAddress address) throws IOException {
+        this.channel = address instanceof UnixDomainSocketAddress
+                ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                : SocketChannel.open();
+        this.channel.connect(address);
+        this.input.flip(); // Começa vazio, em modo de leitura.
+    }
+
+    /**
+     * Envia uma requisição e aguarda a resposta na mesma conexão.
+     * @param requestLine A requisição, ex: "GET /soma?a=5&b=10".
+     */
+    public synchronized MiddlewareResponse send(String requestLine) throws IOException {
+        ByteBuffer request = ByteBuffer.wrap((requestLine + "\n").getBytes(StandardCharsets.UTF_8));
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+
+        // Cabeçalho da resposta: "status tamanho\n".
+        String header = readLine();
+        int separator = header.indexOf(' ');
+        int status = Integer.parseInt(header.substring(0, separator));
+        byte[] body = new byte[Integer.parseInt(header.substring(separator + 1))];
+        int read = 0;
+        while (read < body.length) {
+            if (!input.hasRemaining()) {
+                fill();
+            }
+            int n = Math.min(input.remaining(), body.length - read);
+            input.get(body, read, n);
+            read += n;
+        }
+        return new MiddlewareResponse(status, new String(body, StandardCharsets.UTF_8));
+    }
+
+    private String readLine() throws IOException {
+        while (true) {
+            for (int i = input.position(); i < input.limit(); i++) {
+                if (input.get(i) == '\n') {
+                    String line = new String(input.array(), input.position(), i - input.position(), StandardCharsets.UTF_8);
+                    input.position(i + 1);
+                    return line;
+                }
+            }
+            fill();
+        }
+    }
+
+    // Lê mais bytes do socket, preservando o que ainda não foi consumido.
+    private void fill() throws IOException {
+        input.compact();
+        if (!input.hasRemaining()) {
+            throw new RemotingException("Cabecalho de resposta excede " + input.capacity() + " bytes");
+        }
+        int n = channel.read(input);
+        input.flip();
+        if (n == -1) {
+            throw new RemotingException("Conexao encerrada pelo servidor");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
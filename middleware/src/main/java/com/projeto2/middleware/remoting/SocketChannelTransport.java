@@ -0,0 +1,322 @@
+package com.projeto2.middleware.remoting;
+
+import com.projeto2.middleware.logging.Logger;
+import com.projeto2.middleware.model.MiddlewareRequest;
+import com.projeto2.middleware.model.MiddlewareResponse;
+import com.projeto2.middleware.monitoring.Phase;
+import com.projeto2.middleware.monitoring.RequestTimer;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Implementação da camada de transporte sobre SocketChannel com NIO (um Selector, conexões persistentes).
+ * O uso principal é com UnixDomainSocketAddress, para sidecars e agentes no mesmo host que
+ * não precisam passar pela pilha TCP/IP; com um InetSocketAddress o mesmo protocolo roda sobre TCP
+ * (útil para comparação).
+ *
+ * Protocolo: cada requisição é uma linha de texto terminada em '\n' no formato do UDP
+ * ("GET /soma?a=5&b=10"); cada resposta é uma linha "status tamanho\n" seguida do corpo em UTF-8.
+ * Um cliente pode enviar várias requisições pela mesma conexão; as respostas saem na mesma ordem.
+ * Com MAX_PENDING requisições ou respostas acumuladas, a conexão para de ser lida até o cliente consumir as respostas.
+ */
+public class SocketChannelTransport implements TransportStrategy {
+    private static final Logger LOG = Logger.getLogger(SocketChannelTransport.class);
+
+    // Tamanho máximo de uma linha de requisição.
+    static final int MAX_LINE_SIZE = 8 * 1024;
+
+    // Requisições pendentes + respostas não enviadas por conexão. Ao atingir o limite, a conexão
+    // deixa de ser lida até o cliente consumir as respostas (senão um cliente que envia sem ler
+    // faria o servidor acumular memória sem limite).
+    static final int MAX_PENDING = 64;
+
+    private static final byte[] INTERNAL_ERROR = encode(new MiddlewareResponse(500, "Erro interno no servidor"));
+
+    private final SocketAddress address;
+    private final int workerThreads;
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+    private Selector selector;
+
+    public SocketChannelTransport(SocketAddress address) {
+        this(address, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param address Endereço de escuta (UnixDomainSocketAddress ou InetSocketAddress).
+     * @param workerThreads Threads que executam o handler do middleware; com 0, o handler roda
+     *                      na própria thread do Selector (menor latência, mas um controller lento
+     *                      atrasa todas as conexões).
+     */
+    public SocketChannelTransport(SocketAddress address, int workerThreads) {
+        this.address = address;
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Caminho padrão do socket Unix associado a uma "porta".
+     */
+    public static Path defaultUnixPath(int port) {
+        return Path.of(System.getProperty("java.io.tmpdir"), "middleware-" + port + ".sock");
+    }
+
+    @Override
+    public void start(Function<MiddlewareRequest, MiddlewareResponse> handler) throws IOException {
+        ServerSocketChannel server;
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            // Um arquivo de socket deixado por uma execução anterior impediria o bind.
+            Path socketFile = unixAddress.getPath();
+            Files.deleteIfExists(socketFile);
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            // O arquivo não some sozinho quando o processo termina; removê-lo evita deixar lixo no tmpdir.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteSocketFile(socketFile), "socket-channel-cleanup"));
+        } else {
+            server = ServerSocketChannel.open();
+        }
+        server.bind(address);
+        server.configureBlocking(false);
+        selector = Selector.open();
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        ExecutorService workers = workerThreads > 0 ? Executors.newFixedThreadPool(workerThreads) : null;
+        new Thread(() -> selectLoop(server, handler, workers), "socket-channel-selector").start();
+        LOG.info("Servidor SocketChannel iniciado em {}", address);
+    }
+
+    private static void deleteSocketFile(Path socketFile) {
+        try {
+            Files.deleteIfExists(socketFile);
+        } catch (IOException ignored) {
+            // O processo já está terminando; o próximo start() remove o arquivo antes do bind.
+        }
+    }
+
+    private void selectLoop(ServerSocketChannel server, Function<MiddlewareRequest, MiddlewareResponse> handler,
+                            ExecutorService workers) {
+        while (true) {
+            try {
+                selector.select();
+                // Respostas prontas nas threads de trabalho são escritas pela thread do Selector.
+                Completion completion;
+                while ((completion = completions.poll()) != null) {
+                    completion.connection.complete(completion.response);
+                    process(completion.connection, handler, workers);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept(server);
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isWritable()) {
+                            connection.flush();
+                        }
+                        if (key.isReadable() && connection.read()) {
+                            process(connection, handler, workers);
+                        }
+                    } catch (IOException e) {
+                        connection.close();
+                    }
+                }
+            } catch (Exception e) {
+                LOG.error("Erro no transporte SocketChannel: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void accept(ServerSocketChannel server) throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+    }
+
+    // Envia a próxima requisição pendente da conexão, se não houver outra em andamento.
+    private void process(Connection connection, Function<MiddlewareRequest, MiddlewareResponse> handler,
+                         ExecutorService workers) {
+        while (!connection.busy && !connection.pending.isEmpty() && connection.channel.isOpen()) {
+            PendingLine next = connection.pending.poll();
+            String line = next.line();
+            long receivedAt = next.receivedAt();
+            if (workers == null) {
+                connection.complete(handle(line, receivedAt, handler));
+            } else {
+                connection.busy = true;
+                workers.execute(() -> {
+                    // Mesmo com um Error escapando do handler a conexão precisa de uma resposta;
+                    // sem ela, busy ficaria true e a conexão não seria mais atendida.
+                    byte[] response = INTERNAL_ERROR;
+                    try {
+                        response = handle(line, receivedAt, handler);
+                    } finally {
+                        completions.add(new Completion(connection, response));
+                        selector.wakeup();
+                    }
+                });
+            }
+        }
+        connection.updateInterest();
+    }
+
+    private byte[] handle(String line, long receivedAt, Function<MiddlewareRequest, MiddlewareResponse> handler) {
+        RequestTimer timer = RequestTimer.begin();
+        MiddlewareResponse response;
+        try {
+            // 1. Unmarshal do Transporte + 2. Lógica Principal.
+            response = handler.apply(TextProtocol.parseRequest(line, receivedAt));
+        } catch (Exception e) {
+            response = new MiddlewareResponse(400, "Requisicao invalida: " + e.getMessage());
+        }
+        // 3. Marshal do Transporte.
+        timer.phase(Phase.MARSHAL);
+        byte[] encoded = encode(response);
+        timer.finish(response.statusCode());
+        return encoded;
+    }
+
+    // "status tamanho\n" + corpo.
+    private static byte[] encode(MiddlewareResponse response) {
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        byte[] header = (response.statusCode() + " " + body.length + "\n").getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = new byte[header.length + body.length];
+        System.arraycopy(header, 0, encoded, 0, header.length);
+        System.arraycopy(body, 0, encoded, header.length, body.length);
+        return encoded;
+    }
+
+    private record Completion(Connection connection, byte[] response) {
+    }
+
+    // Uma requisição lida e ainda não processada, com o momento em que chegou (início do prazo).
+    private record PendingLine(String line, long receivedAt) {
+    }
+
+    /**
+     * Estado de uma conexão persistente. Acessado apenas pela thread do Selector.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer input = ByteBuffer.allocate(MAX_LINE_SIZE);
+        final ArrayDeque<PendingLine> pending = new ArrayDeque<>();
+        final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+        boolean busy;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        /**
+         * Lê o que estiver disponível e separa as linhas completas.
+         * @return true se alguma requisição nova ficou pendente.
+         */
+        boolean read() throws IOException {
+            if (channel.read(input) == -1) {
+                close();
+                return false;
+            }
+            boolean added = false;
+            long receivedAt = System.nanoTime();
+            input.flip();
+            int lineStart = 0;
+            for (int i = 0; i < input.limit(); i++) {
+                if (input.get(i) == '\n') {
+                    String line = new String(input.array(), lineStart, i - lineStart, StandardCharsets.UTF_8);
+                    if (!line.isBlank()) {
+                        pending.add(new PendingLine(line, receivedAt));
+                        added = true;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            input.position(lineStart);
+            input.compact();
+            if (!input.hasRemaining()) {
+                // Linha maior que o buffer: o cliente não segue o protocolo.
+                close();
+                return false;
+            }
+            updateInterest();
+            return added;
+        }
+
+        void complete(byte[] response) {
+            busy = false;
+            if (!channel.isOpen()) {
+                return;
+            }
+            output.add(ByteBuffer.wrap(response));
+            try {
+                flush();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        // Escreve o que o socket aceitar agora; o restante espera pelo próximo OP_WRITE.
+        void flush() throws IOException {
+            if (!key.isValid()) {
+                return;
+            }
+            while (!output.isEmpty()) {
+                ByteBuffer next = output.peek();
+                channel.write(next);
+                if (next.hasRemaining()) {
+                    break;
+                }
+                output.poll();
+            }
+            updateInterest();
+        }
+
+        // OP_WRITE enquanto houver resposta por enviar; OP_READ enquanto o acúmulo estiver abaixo de MAX_PENDING.
+        void updateInterest() {
+            if (!key.isValid()) {
+                return;
+            }
+            int ops = pending.size() + output.size() < MAX_PENDING ? SelectionKey.OP_READ : 0;
+            if (!output.isEmpty()) {
+                ops |= SelectionKey.OP_WRITE;
+            }
+            key.interestOps(ops);
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // A conexão já está sendo descartada.
+            }
+        }
+    }
+}
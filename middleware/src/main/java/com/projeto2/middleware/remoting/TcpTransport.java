@@ -1,18 +1,24 @@
 package com.projeto2.middleware.remoting;
 
 import com.projeto2.middleware.enums.HttpMethod;
+import com.projeto2.middleware.logging.Logger;
+import com.projeto2.middleware.model.Deadline;
 import com.projeto2.middleware.model.MiddlewareRequest;
 import com.projeto2.middleware.model.MiddlewareResponse;
+import com.projeto2.middleware.monitoring.Phase;
+import com.projeto2.middleware.monitoring.RequestTimer;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -21,10 +27,30 @@ import java.util.function.Function;
  * e vice-versa.
  */
 public class TcpTransport implements TransportStrategy {
+    private static final Logger LOG = Logger.getLogger(TcpTransport.class);
+
+    /**
+     * Cabeçalho com o prazo da requisição em milissegundos, contado a partir da chegada ao servidor.
+     */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    // Threads que atendem as requisições HTTP.
+    private static final int HANDLER_THREADS = 20;
+
+    // Requisições à espera de uma thread livre. Acima disso o servidor responde 503 na hora,
+    // em vez de acumular conexões e memória e estourar o prazo de todas as que estão na fila.
+    private static final int MAX_QUEUED_REQUESTS = 200;
+
     private final int port;
+    private final RequestLimits limits;
 
     public TcpTransport(int port) {
+        this(port, RequestLimits.DEFAULT);
+    }
+
+    public TcpTransport(int port, RequestLimits limits) {
         this.port = port;
+        this.limits = limits;
     }
 
     @Override
@@ -32,48 +58,102 @@ public class TcpTransport implements TransportStrategy {
         HttpServer server = HttpServer.create(new InetSocketAddress(this.port), 0);
         server.createContext("/", httpExchange -> {
             try (httpExchange) {
-                // 1. Unmarshal do Transporte: Converte a requisição HTTP (HttpExchange)
-                // num modelo genérico (O MiddlewareRequest).
-                MiddlewareRequest request = this.fromHttpExchange(httpExchange);
+                if (ArrivalTimeExecutor.isOverloaded()) {
+                    LOG.debug("Pool TCP saturado, requisicao recusada: {}", httpExchange.getRequestURI().getPath());
+                    httpExchange.getResponseHeaders().set("Retry-After", "1");
+                    this.toHttpExchange(new MiddlewareResponse(503, "Servidor sobrecarregado"), httpExchange);
+                    return;
+                }
+
+                // Rejeita corpos grandes demais antes de ler qualquer byte, quando o cliente
+                // informa o tamanho. Sem Content-Length, o limite é aplicado durante a leitura.
+                if (this.declaredBodySize(httpExchange) > limits.maxBodySize()) {
+                    this.toHttpExchange(new MiddlewareResponse(413,
+                            "Corpo da requisicao excede o limite de " + limits.maxBodySize() + " bytes"), httpExchange);
+                    return;
+                }
 
-                // 2. Executa a Lógica Principal: Chama a função 'handler' que foi passada,
-                // que contém toda a lógica do middleware (lookup, invoke, etc.).
-                MiddlewareResponse response = handler.apply(request);
+                // Mede cada fase desta requisição (eventos JFR e traces amostrados), a partir do unmarshal.
+                RequestTimer timer = RequestTimer.begin();
+                int status = 500;
+                try {
+                    // 1. Unmarshal do Transporte: Converte a requisição HTTP (HttpExchange)
+                    // num modelo genérico (O MiddlewareRequest).
+                    MiddlewareRequest request = this.fromHttpExchange(httpExchange);
 
-                // 3. Marshal do Transporte: Converte a resposta genérica (MiddlewareResponse)
-                // de volta para uma resposta HTTP específica.
-                this.toHttpExchange(response, httpExchange);
+                    // 2. Executa a Lógica Principal: Chama a função 'handler' que foi passada,
+                    // que contém toda a lógica do middleware (lookup, invoke, etc.).
+                    MiddlewareResponse response = handler.apply(request);
+                    status = response.statusCode();
+
+                    // 3. Marshal do Transporte: Converte a resposta genérica (MiddlewareResponse)
+                    // de volta para uma resposta HTTP específica.
+                    timer.phase(Phase.MARSHAL);
+                    this.toHttpExchange(response, httpExchange);
+                } finally {
+                    timer.finish(status);
+                }
 
             } catch (Exception e) {
-                System.err.println("Erro critico no transporte TCP: " + e.getMessage());
+                LOG.error("Erro critico no transporte TCP: {}", e.getMessage());
             }
         });
 
-        // Teste para correção de performance: um pool de threads fixo. Não surtiu efeito
-        //server.setExecutor(java.util.concurrent.Executors.newFixedThreadPool(20));
+        // Pool de threads fixo: requisições simultâneas são atendidas em paralelo
+        // (sem ele, o HttpServer processa uma de cada vez e o @SingleFlight nunca agruparia nada).
+        // O prazo de cada requisição conta também o tempo de espera na fila do pool, que é limitada.
+        server.setExecutor(new ArrivalTimeExecutor(new ThreadPoolExecutor(HANDLER_THREADS, HANDLER_THREADS,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS))));
 
         server.start();
-        System.out.println("[TcpTransport] Servidor HTTP sobre TCP iniciado na porta " + this.port);
+        LOG.info("Servidor HTTP sobre TCP iniciado na porta {}", this.port);
     }
 
-    // ... (métodos auxiliares fromHttpExchange, toHttpExchange e parseQuery) ...
+    // ... (métodos auxiliares fromHttpExchange e toHttpExchange) ...
     private MiddlewareRequest fromHttpExchange(HttpExchange exchange) throws IOException {
         HttpMethod method = HttpMethod.valueOf(exchange.getRequestMethod().toUpperCase());
         String path = exchange.getRequestURI().getPath();
 
         Map<String, String> params = new HashMap<>();
-        String query = exchange.getRequestURI().getQuery();
+        // A query crua: parseQuery decodifica cada valor uma única vez, depois de separar os pares
+        // (com getQuery(), um "%26" viraria "&" antes da separação e criaria parâmetros novos).
+        String query = exchange.getRequestURI().getRawQuery();
         if (query != null) {
-            parseQuery(query, params);
+            FormParser.parseQuery(query, params);
         }
 
-        if (method == HttpMethod.POST) {
-            try (InputStream is = exchange.getRequestBody()) {
-                String body = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-                parseQuery(body, params);
-            }
+        // O corpo não é lido aqui: segue como stream para o middleware, que decide se
+        // o interpreta como formulário ou o entrega ao controller (@Body).
+        Deadline deadline = Deadline.startingAt(ArrivalTimeExecutor.receivedAt(), requestTimeout(exchange));
+        return new MiddlewareRequest(method, path, params,
+                new BoundedInputStream(exchange.getRequestBody(), limits.maxBodySize()), deadline);
+    }
+
+    /**
+     * O prazo informado pelo cliente no cabeçalho TIMEOUT_HEADER, em milissegundos; 0 se ausente ou inválido.
+     */
+    public static long requestTimeout(HttpExchange exchange) {
+        String timeout = exchange.getRequestHeaders().getFirst(TIMEOUT_HEADER);
+        if (timeout == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(timeout.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private long declaredBodySize(HttpExchange exchange) {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
         }
-        return new MiddlewareRequest(method, path, params);
     }
 
     private void toHttpExchange(MiddlewareResponse response, HttpExchange exchange) throws IOException {
@@ -83,15 +163,4 @@ public class TcpTransport implements TransportStrategy {
             os.write(responseBytes);
         }
     }
-
-    private void parseQuery(String query, Map<String, String> params) {
-        if (query != null && !query.isEmpty()) {
-            for (String param : query.split("&")) {
-                String[] pair = param.split("=");
-                if (pair.length > 1) {
-                    params.put(pair[0], java.net.URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
-                }
-            }
-        }
-    }
 }
\ No newline at end of file
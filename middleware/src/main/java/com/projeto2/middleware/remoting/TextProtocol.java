@@ -0,0 +1,70 @@
+package com.projeto2.middleware.remoting;
+
+import com.projeto2.middleware.enums.HttpMethod;
+import com.projeto2.middleware.model.Deadline;
+import com.projeto2.middleware.model.MiddlewareRequest;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Convenção de texto usada pelos transportes que não falam HTTP de verdade (UDP, memória compartilhada):
+ * cada requisição é uma única linha no formato "GET /soma?a=5&b=10", opcionalmente seguida de
+ * campos "nome=valor". O campo "timeout=<ms>" define o prazo da requisição (ex: "GET /soma?a=5&b=10 timeout=200").
+ * Os valores dos parâmetros são repassados como vieram, sem decodificação de URL (como no UDP original).
+ */
+public final class TextProtocol {
+    private TextProtocol() {}
+
+    /**
+     * Converte uma linha de requisição que acabou de chegar no modelo interno MiddlewareRequest.
+     * @param line A linha no formato "MÉTODO /caminho?query [timeout=ms]".
+     * @throws IllegalArgumentException Se a linha não tiver método e caminho.
+     */
+    public static MiddlewareRequest parseRequest(String line) {
+        return parseRequest(line, System.nanoTime());
+    }
+
+    /**
+     * @param receivedAtNanos Momento em que a linha chegou ao transporte (System.nanoTime()),
+     *                        a partir do qual o prazo é contado.
+     */
+    public static MiddlewareRequest parseRequest(String line, long receivedAtNanos) {
+        String[] parts = line.trim().split(" ");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Linha de requisicao invalida: " + line);
+        }
+        HttpMethod method = HttpMethod.valueOf(parts[0].toUpperCase());
+
+        String fullPath = parts[1];
+        String path = fullPath;
+        String query = "";
+
+        if (fullPath.contains("?")) {
+            path = fullPath.substring(0, fullPath.indexOf('?'));
+            query = fullPath.substring(fullPath.indexOf('?') + 1);
+        }
+
+        Map<String, String> params = new HashMap<>();
+        FormParser.parseRawQuery(query, params);
+
+        long timeoutMillis = 0;
+        for (int i = 2; i < parts.length; i++) {
+            if (parts[i].startsWith("timeout=")) {
+                timeoutMillis = parseTimeout(parts[i].substring("timeout=".length()));
+            }
+        }
+        return new MiddlewareRequest(method, path, params, InputStream.nullInputStream(),
+                Deadline.startingAt(receivedAtNanos, timeoutMillis));
+    }
+
+    // Como o cabeçalho X-Request-Timeout no TCP, um prazo inválido é ignorado (requisição sem prazo).
+    private static long parseTimeout(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.projeto2.middleware.remoting;
 
-import com.projeto2.middleware.enums.HttpMethod;
+import com.projeto2.middleware.logging.Logger;
 import com.projeto2.middleware.model.MiddlewareRequest;
 import com.projeto2.middleware.model.MiddlewareResponse;
+import com.projeto2.middleware.monitoring.Phase;
+import com.projeto2.middleware.monitoring.RequestTimer;
 
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -18,7 +23,17 @@ import java.util.function.Function;
  * Simula uma requisição HTTP empacotada em um único datagrama de texto.
  */
 public class UdpTransport implements TransportStrategy {
+    private static final Logger LOG = Logger.getLogger(UdpTransport.class);
+
+    // Threads que processam os pacotes recebidos.
+    private static final int HANDLER_THREADS = 20;
+
+    // Pacotes à espera de uma thread livre. Com a fila cheia o pacote é descartado: o cliente UDP
+    // já precisa lidar com perdas, e uma fila sem limite só acumularia memória e latência.
+    private static final int MAX_QUEUED_PACKETS = 1000;
+
     private final int port;
+    private final AtomicLong droppedPackets = new AtomicLong();
 
     public UdpTransport(int port) {
         this.port = port;
@@ -27,9 +42,12 @@ public class UdpTransport implements TransportStrategy {
     @Override
     public void start(Function<MiddlewareRequest, MiddlewareResponse> handler) throws IOException {
         DatagramSocket socket = new DatagramSocket(this.port);
-        System.out.println("[UdpTransport] Servidor HTTP sobre UDP iniciado na porta " + this.port);
+        LOG.info("Servidor HTTP sobre UDP iniciado na porta {}", this.port);
 
-        // O servidor UDP roda em uma thread separada para não bloquear a aplicação.
+        // Os pacotes são recebidos numa thread separada, para não bloquear a aplicação,
+        // e processados em paralelo por um pool de threads.
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(HANDLER_THREADS, HANDLER_THREADS,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_PACKETS), (task, pool) -> this.dropPacket());
         new Thread(() -> {
             byte[] buffer = new byte[8192]; // Buffer para receber os pacotes.
             while (true) {
@@ -37,49 +55,67 @@ public class UdpTransport implements TransportStrategy {
                     DatagramPacket receivePacket = new DatagramPacket(buffer, buffer.length);
                     socket.receive(receivePacket); // Espera (bloqueia) até receber um pacote.
 
-                    // 1. Unmarshal do Transporte: Converte o pacote UDP num modelo MiddlewareRequest.
-                    MiddlewareRequest request = this.fromDatagramPacket(receivePacket);
-
-                    // 2. Executa a Lógica Principal: Chama a função 'handler' do middleware.
-                    MiddlewareResponse response = handler.apply(request);
-
-                    // 3. Marshal do Transporte: Converte a MiddlewareResponse de volta para um pacote UDP.
-                    this.toDatagramPacket(response, receivePacket, socket);
-
+                    // Com a fila cheia o pacote seria recusado de qualquer forma: descarta antes de copiá-lo.
+                    if (workers.getQueue().remainingCapacity() == 0) {
+                        this.dropPacket();
+                        continue;
+                    }
+                    // O buffer é reutilizado no próximo receive: a thread de trabalho recebe uma cópia.
+                    DatagramPacket packet = new DatagramPacket(
+                            Arrays.copyOf(buffer, receivePacket.getLength()), receivePacket.getLength(),
+                            receivePacket.getAddress(), receivePacket.getPort());
+                    long receivedAt = System.nanoTime();
+                    workers.execute(() -> this.process(packet, receivedAt, socket, handler));
                 } catch (Exception e) {
-                    System.err.println("Erro ao processar pacote UDP: " + e.getMessage());
+                    LOG.error("Erro ao receber pacote UDP: {}", e.getMessage());
                 }
             }
         }).start();
     }
 
-    // "Desmonta" um pacote UDP.
-    private MiddlewareRequest fromDatagramPacket(DatagramPacket packet) {
-        String data = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
-
-        // Convenção de texto para a requisição UDP. Formato esperado: "GET /soma?a=5&b=10"
-        String[] parts = data.split(" ");
-        HttpMethod method = HttpMethod.valueOf(parts[0].toUpperCase());
-
-        String fullPath = parts[1];
-        String path = fullPath;
-        String query = "";
-
-        if (fullPath.contains("?")) {
-            path = fullPath.substring(0, fullPath.indexOf('?'));
-            query = fullPath.substring(fullPath.indexOf('?') + 1);
+    // Conta o descarte e avisa no log a cada potência de dois, para não inundar o log sob sobrecarga.
+    private void dropPacket() {
+        long dropped = droppedPackets.incrementAndGet();
+        if (Long.bitCount(dropped) == 1) {
+            LOG.warn("Fila UDP cheia: {} pacotes descartados desde o inicio", dropped);
         }
+    }
 
-        Map<String, String> params = new HashMap<>();
-        if (!query.isEmpty()) {
-            for (String param : query.split("&")) {
-                String[] pair = param.split("=");
-                if (pair.length > 1) {
-                    params.put(pair[0], pair[1]);
-                }
+    private void process(DatagramPacket packet, long receivedAt, DatagramSocket socket,
+                         Function<MiddlewareRequest, MiddlewareResponse> handler) {
+        // Mede cada fase desta requisição (eventos JFR e traces amostrados), a partir do unmarshal.
+        RequestTimer timer = RequestTimer.begin();
+        int status = 500;
+        try {
+            // 1. Unmarshal do Transporte: Converte o pacote UDP num modelo MiddlewareRequest.
+            MiddlewareRequest request = this.fromDatagramPacket(packet, receivedAt);
+
+            // 2. Executa a Lógica Principal: Chama a função 'handler' do middleware.
+            MiddlewareResponse response = handler.apply(request);
+            status = response.statusCode();
+
+            // Sem conexão, uma resposta de prazo expirado não serve ao cliente (que já desistiu): é descartada.
+            if (status == 504) {
+                LOG.debug("Requisicao UDP descartada por prazo expirado: {}", request.routeKey());
+                return;
             }
+
+            // 3. Marshal do Transporte: Converte a MiddlewareResponse de volta para um pacote UDP.
+            timer.phase(Phase.MARSHAL);
+            this.toDatagramPacket(response, packet, socket);
+        } catch (Exception e) {
+            LOG.error("Erro ao processar pacote UDP: {}", e.getMessage());
+        } finally {
+            timer.finish(status);
         }
-        return new MiddlewareRequest(method, path, params);
+    }
+
+    // "Desmonta" um pacote UDP.
+    private MiddlewareRequest fromDatagramPacket(DatagramPacket packet, long receivedAt) {
+        String data = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+
+        // Convenção de texto para a requisição UDP. Formato esperado: "GET /soma?a=5&b=10 [timeout=ms]"
+        return TextProtocol.parseRequest(data, receivedAt);
     }
 
     // "Monta" uma resposta UDP.
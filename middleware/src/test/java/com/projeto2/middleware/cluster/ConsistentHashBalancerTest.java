@@ -0,0 +1,96 @@
+package com.projeto2.middleware.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashBalancerTest {
+
+    @Test
+    void mesmaChaveSempreNoMesmoWorker() {
+        List<WorkerNode> workers = workers(3);
+        ConsistentHashBalancer balancer = new ConsistentHashBalancer();
+        for (int i = 0; i < 100; i++) {
+            String key = "GET:/soma?a=" + i + "&b=1";
+            WorkerNode first = balancer.choose(workers, key);
+            assertSame(first, balancer.choose(workers, key));
+        }
+    }
+
+    @Test
+    void escolhaNaoDependeDaInstancia() {
+        // O anel é derivado só dos endereços: outro dispatcher com os mesmos workers escolhe igual.
+        List<WorkerNode> workers = workers(3);
+        List<WorkerNode> sameAddresses = workers(3);
+        ConsistentHashBalancer balancer = new ConsistentHashBalancer();
+        ConsistentHashBalancer other = new ConsistentHashBalancer();
+        for (int i = 0; i < 100; i++) {
+            String key = "GET:/soma?a=" + i;
+            assertEquals(balancer.choose(workers, key).getBaseUri(),
+                    other.choose(sameAddresses, key).getBaseUri());
+        }
+    }
+
+    @Test
+    void ejetarUmWorkerSoMoveAsChavesDele() {
+        List<WorkerNode> workers = workers(4);
+        ConsistentHashBalancer balancer = new ConsistentHashBalancer();
+        Map<String, WorkerNode> before = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            String key = "GET:/soma?a=" + i;
+            before.put(key, balancer.choose(workers, key));
+        }
+
+        WorkerNode ejected = workers.get(1);
+        ejected.eject();
+
+        int moved = 0;
+        for (Map.Entry<String, WorkerNode> entry : before.entrySet()) {
+            WorkerNode now = balancer.choose(workers, entry.getKey());
+            assertNotSame(ejected, now);
+            if (entry.getValue() == ejected) {
+                moved++;
+            } else {
+                assertSame(entry.getValue(), now);
+            }
+        }
+        assertTrue(moved > 0);
+    }
+
+    @Test
+    void chavesParecidasSeEspalhamPeloAnel() {
+        List<WorkerNode> workers = workers(4);
+        ConsistentHashBalancer balancer = new ConsistentHashBalancer();
+        Map<WorkerNode, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            counts.merge(balancer.choose(workers, "GET:/soma?a=" + i), 1, Integer::sum);
+        }
+        for (WorkerNode worker : workers) {
+            assertTrue(counts.getOrDefault(worker, 0) > 125, worker + " recebeu poucas chaves: " + counts);
+        }
+    }
+
+    @Test
+    void nenhumWorkerDisponivel() {
+        List<WorkerNode> workers = workers(2);
+        workers.forEach(WorkerNode::eject);
+        assertNull(new ConsistentHashBalancer().choose(workers, "GET:/soma"));
+    }
+
+    static List<WorkerNode> workers(int count) {
+        WorkerNode[] nodes = new WorkerNode[count];
+        for (int i = 0; i < count; i++) {
+            nodes[i] = new WorkerNode(URI.create("http://localhost:" + (8081 + i)));
+        }
+        return List.of(nodes);
+    }
+}
@@ -0,0 +1,54 @@
+package com.projeto2.middleware.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LeastOutstandingBalancerTest {
+
+    @Test
+    void escolheOWorkerComMenosRequisicoesEmAndamento() {
+        List<WorkerNode> workers = ConsistentHashBalancerTest.workers(3);
+        workers.get(0).acquire();
+        workers.get(0).acquire();
+        workers.get(2).acquire();
+
+        LeastOutstandingBalancer balancer = new LeastOutstandingBalancer();
+        for (int i = 0; i < 10; i++) {
+            assertSame(workers.get(1), balancer.choose(workers, "GET:/soma"));
+        }
+    }
+
+    @Test
+    void ignoraWorkersEjetados() {
+        List<WorkerNode> workers = ConsistentHashBalancerTest.workers(3);
+        workers.get(1).eject();
+        workers.get(0).acquire();
+
+        assertSame(workers.get(2), new LeastOutstandingBalancer().choose(workers, "GET:/soma"));
+    }
+
+    @Test
+    void empateAlternaEntreOsWorkers() {
+        List<WorkerNode> workers = ConsistentHashBalancerTest.workers(3);
+        LeastOutstandingBalancer balancer = new LeastOutstandingBalancer();
+        Set<WorkerNode> chosen = new HashSet<>();
+        for (int i = 0; i < workers.size(); i++) {
+            chosen.add(balancer.choose(workers, "GET:/soma"));
+        }
+        assertEquals(workers.size(), chosen.size());
+    }
+
+    @Test
+    void nenhumWorkerDisponivel() {
+        List<WorkerNode> workers = ConsistentHashBalancerTest.workers(2);
+        workers.forEach(WorkerNode::eject);
+        assertNull(new LeastOutstandingBalancer().choose(workers, "GET:/soma"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.projeto2.middleware.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkerNodeTest {
+
+    @Test
+    void ejetarEReadmitir() {
+        WorkerNode worker = worker();
+        worker.recordFailure();
+        worker.recordSuccess(1_000_000);
+        worker.recordFailure();
+
+        worker.eject();
+        assertFalse(worker.isAvailable());
+        long ejectedAt = worker.getEjectedAtNanos();
+        assertTrue(ejectedAt != 0);
+
+        // Uma segunda ejeção não reinicia a contagem do cooldown.
+        worker.eject();
+        assertEquals(ejectedAt, worker.getEjectedAtNanos());
+
+        worker.readmit();
+        assertTrue(worker.isAvailable());
+        assertEquals(0.0, worker.getAverageLatencyNanos());
+        assertEquals(1, worker.recordFailure());
+    }
+
+    @Test
+    void sucessoZeraAsFalhasSeguidas() {
+        WorkerNode worker = worker();
+        worker.recordFailure();
+        worker.recordFailure();
+        worker.recordSuccess(1_000);
+        assertEquals(1, worker.recordFailure());
+    }
+
+    @Test
+    void latenciaMediaMovelExponencial() {
+        WorkerNode worker = worker();
+        worker.recordSuccess(1_000);
+        assertEquals(1_000.0, worker.getAverageLatencyNanos());
+
+        // Peso 0,2 para a amostra mais recente.
+        worker.recordSuccess(2_000);
+        assertEquals(1_200.0, worker.getAverageLatencyNanos());
+    }
+
+    @Test
+    void contaRequisicoesEmAndamento() {
+        WorkerNode worker = worker();
+        worker.acquire();
+        worker.acquire();
+        worker.release();
+        assertEquals(1, worker.getOutstanding());
+    }
+
+    private static WorkerNode worker() {
+        return new WorkerNode(URI.create("http://localhost:8081"));
+    }
+}
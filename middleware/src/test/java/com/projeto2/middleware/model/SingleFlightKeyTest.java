@@ -0,0 +1,50 @@
+package com.projeto2.middleware.model;
+
+import com.projeto2.middleware.enums.HttpMethod;
+import com.projeto2.middleware.remoting.FormParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * A chave do @SingleFlight (rota + parâmetros canônicos) não pode coincidir para requisições diferentes,
+ * ou uma requisição receberia o resultado de outra.
+ */
+class SingleFlightKeyTest {
+
+    @Test
+    void valoresComSeparadoresNaoColidemComOutrosParametros() {
+        // GET /soma?a=1&b=2
+        MiddlewareRequest separados = request("a=1&b=2");
+        // GET /soma?a=1%26b%3D2 -> um único parâmetro a="1&b=2"
+        MiddlewareRequest juntos = request("a=1%26b%3D2");
+
+        assertEquals(Map.of("a", "1&b=2"), juntos.params());
+        assertNotEquals(separados.canonicalParams(), juntos.canonicalParams());
+    }
+
+    @Test
+    void valorDuplamenteCodificadoEhDecodificadoUmaVez() {
+        // GET /soma?a=1%2526b%253D2 -> a="1%26b%3D2", não "1&b=2".
+        MiddlewareRequest request = request("a=1%2526b%253D2");
+
+        assertEquals(Map.of("a", "1%26b%3D2"), request.params());
+        assertNotEquals(request("a=1%26b%3D2").canonicalParams(), request.canonicalParams());
+    }
+
+    @Test
+    void ordemDosParametrosNaoAlteraAChave() {
+        assertEquals(request("a=1&b=2").canonicalParams(), request("b=2&a=1").canonicalParams());
+    }
+
+    // Monta a requisição como o TcpTransport, a partir da query crua.
+    private static MiddlewareRequest request(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        FormParser.parseQuery(rawQuery, params);
+        return new MiddlewareRequest(HttpMethod.GET, "/soma", params);
+    }
+}
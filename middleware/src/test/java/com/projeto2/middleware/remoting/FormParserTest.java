@@ -0,0 +1,54 @@
+package com.projeto2.middleware.remoting;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * O corpo (lido em streaming) e a query string precisam interpretar a mesma entrada da mesma forma.
+ */
+class FormParserTest {
+
+    @Test
+    void corpoEQueryStringTemAMesmaSemantica() throws IOException {
+        String[] inputs = {"a=1&b=2", "a=b=c", "a=b=c&d=e", "a==b", "=b", "a=", "a==", "a", "", "&&a=1&",
+                "x=um%20dois", "x=a+b"};
+        for (String input : inputs) {
+            assertEquals(fromQuery(input), fromBody(input, 64), "Entrada: " + input);
+        }
+    }
+
+    @Test
+    void valorEhOTrechoEntreOPrimeiroEOSegundoIgual() throws IOException {
+        assertEquals(Map.of("a", "b"), fromBody("a=b=c", 64));
+    }
+
+    @Test
+    void parametroAcimaDoLimite() {
+        assertThrows(PayloadTooLargeException.class, () -> fromBody("a=123456789", 8));
+    }
+
+    @Test
+    void trechoDescartadoNaoContaParaOLimite() throws IOException {
+        assertEquals(Map.of("a", "1"), fromBody("a=1=123456789", 8));
+    }
+
+    private static Map<String, String> fromQuery(String input) {
+        Map<String, String> params = new HashMap<>();
+        FormParser.parseQuery(input, params);
+        return params;
+    }
+
+    private static Map<String, String> fromBody(String input, int maxParamSize) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        FormParser.parse(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), params, maxParamSize);
+        return params;
+    }
+}
@@ -0,0 +1,153 @@
+package com.projeto2.middleware.remoting;
+
+import com.projeto2.middleware.model.Deadline;
+import com.projeto2.middleware.model.MiddlewareResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Sem esperas por tempo: a líder só termina depois que as seguidoras estão de fato
+ * aguardando a invocação dela (ver awaitFollowers).
+ */
+class SingleFlightGroupTest {
+    private static final String KEY = "GET:/soma?a=1&b=2";
+
+    @Test
+    void seguidoraRecebeOResultadoDaLider() throws Exception {
+        SingleFlightGroup group = new SingleFlightGroup();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<MiddlewareResponse> leader = pool.submit(() -> group.execute(KEY, Deadline.none(), () -> {
+                calls.incrementAndGet();
+                leaderStarted.countDown();
+                release.await();
+                return new MiddlewareResponse(200, "3");
+            }));
+            leaderStarted.await();
+
+            Future<MiddlewareResponse> follower = pool.submit(() -> group.execute(KEY, Deadline.none(), () -> {
+                calls.incrementAndGet();
+                return new MiddlewareResponse(200, "outra execucao");
+            }));
+            awaitFollowers(group, 1);
+            release.countDown();
+
+            assertEquals("3", follower.get().body());
+            assertEquals("3", leader.get().body());
+            assertEquals(1, calls.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void seguidoraRecebeAExcecaoDaLider() throws Exception {
+        SingleFlightGroup group = new SingleFlightGroup();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            pool.submit(() -> group.execute(KEY, Deadline.none(), () -> {
+                leaderStarted.countDown();
+                release.await();
+                throw new IllegalStateException("falha da lider");
+            }));
+            leaderStarted.await();
+
+            Future<MiddlewareResponse> follower = pool.submit(() -> group.execute(KEY, Deadline.none(),
+                    () -> new MiddlewareResponse(200, "seguidora")));
+            awaitFollowers(group, 1);
+            release.countDown();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, follower::get);
+            assertTrue(failure.getCause() instanceof IllegalStateException);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void seguidoraNaoHerdaPrazoExpiradoDaLider() throws Exception {
+        SingleFlightGroup group = new SingleFlightGroup();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch followerAttached = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // A líder só falha por prazo depois que a seguidora passou a aguardá-la.
+            Future<MiddlewareResponse> leader = pool.submit(() -> group.execute(KEY, Deadline.none(), () -> {
+                leaderStarted.countDown();
+                followerAttached.await();
+                throw new DeadlineExceededException("Prazo da requisicao expirado");
+            }));
+            leaderStarted.await();
+
+            // Sem prazo próprio: não pode receber o 504 da líder.
+            Future<MiddlewareResponse> follower = pool.submit(() -> group.execute(KEY, Deadline.none(),
+                    () -> new MiddlewareResponse(200, "seguidora")));
+            awaitFollowers(group, 1);
+            followerAttached.countDown();
+
+            assertEquals("seguidora", follower.get().body());
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, leader::get);
+            assertTrue(leaderFailure.getCause() instanceof DeadlineExceededException);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void seguidoraEsperaNoMaximoOProprioPrazo() throws Exception {
+        SingleFlightGroup group = new SingleFlightGroup();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<MiddlewareResponse> leader = pool.submit(() -> group.execute(KEY, Deadline.none(), () -> {
+                leaderStarted.countDown();
+                release.await();
+                return new MiddlewareResponse(200, "lider");
+            }));
+            leaderStarted.await();
+
+            // Prazo já expirado: a seguidora desiste sem esperar a líder, que continua em andamento.
+            Deadline expired = Deadline.startingAt(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10), 1);
+            assertThrows(DeadlineExceededException.class, () -> group.execute(KEY, expired,
+                    () -> new MiddlewareResponse(200, "seguidora")));
+            assertFalse(leader.isDone());
+
+            release.countDown();
+            assertEquals("lider", leader.get().body());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    // Espera até que as seguidoras estejam bloqueadas na invocação em andamento.
+    // O limite só evita que um teste quebrado trave a build; não é uma hipótese sobre tempo.
+    private static void awaitFollowers(SingleFlightGroup group, int count) {
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (group.waitingFollowers(KEY) < count) {
+            if (System.nanoTime() - limit > 0) {
+                fail("Seguidoras nao chegaram a aguardar a lider");
+            }
+            Thread.yield();
+        }
+    }
+}